@@ -1,16 +1,92 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 // Main class to run the AI Career Advisor with GUI
 public class AICareerAdvisorGUI {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // Headless modes
+        if (args.length == 3 && "--import".equals(args[0])) {
+            runBulkImport(args[1], args[2]);
+            return;
+        }
+        if (args.length == 3 && "--shard-worker".equals(args[0])) {
+            new CareerShardWorker(Integer.parseInt(args[1]), Integer.parseInt(args[2])).serve();
+            return;
+        }
+        if (args.length == 2 && "--export-summary".equals(args[0])) {
+            printExportSummary(args[1]);
+            return;
+        }
+        if (args.length >= 4 && "--load-test".equals(args[0])) {
+            runLoadTest(args[1], Integer.parseInt(args[2]), Long.parseLong(args[3]),
+                    args.length > 4 ? Double.parseDouble(args[4]) : 0);
+            return;
+        }
+        if (args.length == 1 && "--selftest".equals(args[0])) {
+            if (!new SelfTest(System.out).run()) {
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length >= 2 && "--shard-demo".equals(args[0])) {
+            runShardDemo(Integer.parseInt(args[1]), args.length > 2 ? Integer.parseInt(args[2]) : 1000);
+            return;
+        }
+
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -20,14 +96,135 @@ public class AICareerAdvisorGUI {
             new CareerAdvisorGUI().setVisible(true);
         });
     }
+
+    // Starts local shard workers, replays sample profiles through the coordinator and checks
+    // each merged ranking against the in-process advisor
+    private static void runShardDemo(int shardCount, int requests) throws Exception {
+        CareerAdvisor advisor = new CareerAdvisor();
+        try (ShardedCareerRecommender sharded = ShardedCareerRecommender.launch(advisor, shardCount)) {
+            List<String> skillPool = Arrays.asList("Java", "Python", "SQL", "JavaScript", "React", "Node.js",
+                    "Docker", "AWS", "Linux", "Machine Learning", "Statistics", "Cloud Computing");
+            List<CareerPath> careers = new ArrayList<>(advisor.getCareerRecommender().getCareers());
+            Random random = new Random(42);
+            int matching = 0;
+            for (int i = 0; i < requests; i++) {
+                User user = new User("demo" + i, "Demo User", "");
+                List<String> skills = new ArrayList<>(skillPool);
+                Collections.shuffle(skills, random);
+                user.setSkills(new ArrayList<>(skills.subList(0, 2 + random.nextInt(4))));
+                // Give every other user some history so collaborative scores take part
+                if (i % 2 == 0 && !careers.isEmpty()) {
+                    advisor.recordInteraction(user, careers.get(random.nextInt(careers.size())));
+                }
+                List<CareerPath> top = sharded.recommendCareers(user, 3);
+                if (sameRanking(top, advisor.recommendCareers(user), 3)) {
+                    matching++;
+                }
+                if (i == 0) {
+                    for (CareerPath career : top) {
+                        System.out.printf("%s %.1f%%%n", career.getName(), career.getMatchScore());
+                    }
+                }
+            }
+            System.out.printf("%d of %d rankings match the in-process advisor%n", matching, requests);
+            System.out.print(sharded.getLatencyReport());
+        }
+    }
+
+    // Equal scores at every rank; careers tied on score may come back in either order
+    static boolean sameRanking(List<CareerPath> actual, List<CareerPath> expected, int topK) {
+        if (actual.size() != Math.min(topK, expected.size())) return false;
+        Set<String> actualIds = new HashSet<>();
+        Set<String> expectedIds = new HashSet<>();
+        for (int i = 0; i < actual.size(); i++) {
+            if (Math.abs(actual.get(i).getMatchScore() - expected.get(i).getMatchScore()) > 1e-9) return false;
+            actualIds.add(actual.get(i).getId());
+            expectedIds.add(expected.get(i).getId());
+        }
+        double cutoff = actual.isEmpty() ? 0 : actual.get(actual.size() - 1).getMatchScore();
+        for (String id : actualIds) {
+            if (!expectedIds.contains(id)) {
+                // A tie at the cutoff can pick a different career with the same score
+                CareerPath career = find(actual, id);
+                if (Math.abs(career.getMatchScore() - cutoff) > 1e-9) return false;
+            }
+        }
+        return true;
+    }
+
+    private static CareerPath find(List<CareerPath> careers, String id) {
+        for (CareerPath career : careers) {
+            if (career.getId().equals(id)) return career;
+        }
+        return null;
+    }
+
+    // closed: pacing is each session's interval between requests in ms (0 = back to back)
+    // open: pacing is the total arrival rate in requests per second
+    private static void runLoadTest(String mode, int sessions, long seconds, double pacing) throws Exception {
+        CareerAdvisor advisor = new CareerAdvisor();
+        LoadGenerator generator = new LoadGenerator(advisor, sessions, 42, System.out,
+                Math.min(60_000, Math.max(5_000, seconds * 100)));
+        LoadGenerator.LoadTestSummary summary;
+        if ("open".equals(mode)) {
+            summary = generator.runOpenLoop(pacing > 0 ? pacing : 100, TimeUnit.SECONDS.toMillis(seconds));
+        } else {
+            summary = generator.runClosedLoop(TimeUnit.SECONDS.toMillis(seconds), (long) pacing);
+        }
+        System.out.print(summary);
+    }
+
+    // Reads a columnar report in place and prints per-career and per-skill totals
+    private static void printExportSummary(String reportFile) throws IOException {
+        try (ColumnarReportReader reader = new ColumnarReportReader(Paths.get(reportFile))) {
+            List<String> careers = reader.getCareerDictionary();
+            long[] careerCounts = new long[careers.size()];
+            double[] scoreTotals = new double[careers.size()];
+            reader.scanScores((row, career, score) -> {
+                careerCounts[career]++;
+                scoreTotals[career] += score;
+            });
+
+            System.out.printf("%d rows in %d row groups%n", reader.getRowCount(), reader.getRowGroupCount());
+            for (int i = 0; i < careers.size(); i++) {
+                System.out.printf("  %-12s %10d rows, average match %.1f%%%n", careers.get(i), careerCounts[i],
+                        careerCounts[i] > 0 ? scoreTotals[i] / careerCounts[i] : 0);
+            }
+            List<String> skills = reader.getSkillDictionary();
+            long[] gapCounts = reader.countGaps();
+            for (int i = 0; i < skills.size(); i++) {
+                System.out.printf("  gap %-25s %10d rows%n", skills.get(i), gapCounts[i]);
+            }
+        }
+    }
+
+    private static void runBulkImport(String profilesFile, String reportFile) throws Exception {
+        CareerAdvisor advisor = new CareerAdvisor();
+        try (Reader input = new BufferedReader(new InputStreamReader(new FileInputStream(profilesFile), "UTF-8"));
+             RecommendationReportWriter report = RecommendationReportWriter.forFile(new File(reportFile))) {
+            BulkProfileImporter importer = new BulkProfileImporter(advisor,
+                    Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 1024, false);
+            System.out.println(importer.importProfiles(input, report, 3));
+        }
+    }
 }
 
 // Main GUI frame
 class CareerAdvisorGUI extends JFrame {
+    private static final int PROFILE_TAB = 0;
+    private static final int RECOMMENDATIONS_TAB = 1;
+    private static final int LEARNING_PATH_TAB = 2;
+    private static final int MARKET_TRENDS_TAB = 3;
+    private static final int RECOMMENDATION_PAGE_SIZE = 25;
+
     private User currentUser;
     private CareerAdvisor advisor;
+    private StartupTimer startupTimer;
     private JTabbedPane tabbedPane;
 
+    // Tabs not built yet, by index
+    private Map<Integer, Runnable> pendingTabs;
+
     // Components for different tabs
     private JPanel profilePanel;
     private JPanel recommendationsPanel;
@@ -36,31 +233,45 @@ class CareerAdvisorGUI extends JFrame {
 
     // Profile components
     private JList<String> skillsList;
-    private DefaultListModel<String> skillsListModel;
+    private SkillListModel skillsListModel;
     private JTextField newSkillField;
     private JSlider skillLevelSlider;
     private JTextField interestsField;
     private JComboBox<String> experienceComboBox;
     private JLabel skillLevelLabel;
 
+    // Profile edits are delivered in batches; recommendations follow once edits settle
+    private ProfileChangeBatcher profileChanges;
+    private javax.swing.Timer recommendationDebounce;
+    private int recommendationGeneration;
+    private RecommendationStream recommendationStream;
+
     // Recommendations components
     private JTable careerTable;
     private DefaultTableModel careerTableModel;
+    private JButton loadMoreButton;
     private JTextArea careerDetailsArea;
+    private int careerDetailsGeneration;
 
     // Learning path components
     private JComboBox<String> careerSelector;
     private JTextArea learningPathArea;
+    private int learningPathGeneration;
+
+    // Status bar for background loading and startup timing
+    private JLabel statusLabel;
 
     // Store recommendations for later use
     private List<CareerPath> currentRecommendations;
 
     public CareerAdvisorGUI() {
-        advisor = new CareerAdvisor();
+        startupTimer = new StartupTimer();
+        advisor = new CareerAdvisor(startupTimer);
         currentRecommendations = new ArrayList<>();
         setupFrame();
         createTabs();
         loadSampleData();
+        startupTimer.mark("window constructed");
     }
 
     private void setupFrame() {
@@ -72,22 +283,106 @@ class CareerAdvisorGUI extends JFrame {
         // Create menu bar
         JMenuBar menuBar = new JMenuBar();
         JMenu fileMenu = new JMenu("File");
+        JMenuItem importItem = new JMenuItem("Import Profiles...");
+        importItem.addActionListener(e -> importProfiles());
+        fileMenu.add(importItem);
+        fileMenu.addSeparator();
         JMenuItem exitItem = new JMenuItem("Exit");
         exitItem.addActionListener(e -> System.exit(0));
         fileMenu.add(exitItem);
         menuBar.add(fileMenu);
+
+        JMenu helpMenu = new JMenu("Help");
+        JMenuItem startupItem = new JMenuItem("Startup Timing");
+        startupItem.addActionListener(e -> showStartupReport());
+        helpMenu.add(startupItem);
+        menuBar.add(helpMenu);
         setJMenuBar(menuBar);
 
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                startupTimer.mark("first frame");
+            }
+        });
+
         // Initialize tabbed pane
         tabbedPane = new JTabbedPane();
         add(tabbedPane);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setBorder(new EmptyBorder(2, 8, 2, 8));
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    private void showStartupReport() {
+        JTextArea reportArea = new JTextArea(startupTimer.report(), 15, 60);
+        reportArea.setEditable(false);
+        reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(reportArea), "Startup Timing",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void importProfiles() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Select profiles CSV");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File profilesFile = chooser.getSelectedFile();
+
+        // A .crx name writes the columnar binary report instead of CSV
+        chooser.setDialogTitle("Save recommendation report");
+        chooser.setSelectedFile(new File(profilesFile.getParentFile(), "recommendations.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File reportFile = chooser.getSelectedFile();
+
+        // Run off the EDT; the pipeline uses its own worker threads
+        new SwingWorker<BulkProfileImporter.ImportSummary, Void>() {
+            @Override
+            protected BulkProfileImporter.ImportSummary doInBackground() throws Exception {
+                try (Reader input = new BufferedReader(new InputStreamReader(new FileInputStream(profilesFile), "UTF-8"));
+                     RecommendationReportWriter report = RecommendationReportWriter.forFile(reportFile)) {
+                    return new BulkProfileImporter(advisor).importProfiles(input, report, 3);
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    JOptionPane.showMessageDialog(CareerAdvisorGUI.this, get().toString(), "Import Complete",
+                            JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(CareerAdvisorGUI.this, "Import failed: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     private void createTabs() {
-        createProfileTab();
-        createRecommendationsTab();
-        createLearningPathTab();
-        createMarketTrendsTab();
+        // Placeholders keep the tab strip complete; each tab is built the first time it is selected
+        pendingTabs = new HashMap<>();
+        tabbedPane.addTab("Profile", new JPanel());
+        pendingTabs.put(PROFILE_TAB, this::createProfileTab);
+        tabbedPane.addTab("Recommendations", new JPanel());
+        pendingTabs.put(RECOMMENDATIONS_TAB, this::createRecommendationsTab);
+        tabbedPane.addTab("Learning Path", new JPanel());
+        pendingTabs.put(LEARNING_PATH_TAB, this::createLearningPathTab);
+        tabbedPane.addTab("Market Trends", new JPanel());
+        pendingTabs.put(MARKET_TRENDS_TAB, this::createMarketTrendsTab);
+
+        tabbedPane.addChangeListener(e -> buildTab(tabbedPane.getSelectedIndex()));
+        buildTab(tabbedPane.getSelectedIndex());
+    }
+
+    private void buildTab(int index) {
+        Runnable builder = pendingTabs.remove(index);
+        if (builder != null) {
+            startupTimer.time(tabbedPane.getTitleAt(index) + " tab built", () -> {
+                builder.run();
+                return null;
+            });
+        }
     }
 
     private void createProfileTab() {
@@ -111,7 +406,7 @@ class CareerAdvisorGUI extends JFrame {
         gbc.gridwidth = 2;
         contentPanel.add(new JLabel("Your Skills:"), gbc);
 
-        skillsListModel = new DefaultListModel<>();
+        skillsListModel = new SkillListModel();
         skillsList = new JList<>(skillsListModel);
         JScrollPane skillsScrollPane = new JScrollPane(skillsList);
         skillsScrollPane.setPreferredSize(new Dimension(300, 150));
@@ -129,6 +424,7 @@ class CareerAdvisorGUI extends JFrame {
 
         gbc.gridy = 2;
         newSkillField = new JTextField(15);
+        installSkillAutocomplete();
         contentPanel.add(newSkillField, gbc);
 
         gbc.gridy = 3;
@@ -180,7 +476,7 @@ class CareerAdvisorGUI extends JFrame {
         contentPanel.add(new JLabel("Experience Level:"), gbc);
 
         gbc.gridy = 5;
-        experienceComboBox = new JComboBox<>(new String[]{"Beginner", "Intermediate", "Expert"});
+        experienceComboBox = new JComboBox<>(User.EXPERIENCE_LEVELS.toArray(new String[0]));
         contentPanel.add(experienceComboBox, gbc);
 
         // Save button
@@ -192,7 +488,42 @@ class CareerAdvisorGUI extends JFrame {
         contentPanel.add(saveProfileButton, gbc);
 
         profilePanel.add(contentPanel, BorderLayout.CENTER);
-        tabbedPane.addTab("Profile", profilePanel);
+        tabbedPane.setComponentAt(PROFILE_TAB, profilePanel);
+    }
+
+    private void installSkillAutocomplete() {
+        JPopupMenu suggestionsPopup = new JPopupMenu();
+        suggestionsPopup.setFocusable(false);
+
+        newSkillField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { updateSuggestions(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { updateSuggestions(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { updateSuggestions(); }
+
+            private void updateSuggestions() {
+                // Defer so the popup is not rebuilt while the document is mid-update
+                SwingUtilities.invokeLater(() -> {
+                    suggestionsPopup.setVisible(false);
+                    suggestionsPopup.removeAll();
+                    if (!newSkillField.isFocusOwner() || !advisor.isSkillIndexReady()) return;
+
+                    List<String> suggestions = advisor.getSkillIndex().complete(newSkillField.getText(), 8);
+                    if (suggestions.isEmpty()) return;
+                    for (String suggestion : suggestions) {
+                        JMenuItem item = new JMenuItem(suggestion);
+                        item.addActionListener(e -> {
+                            newSkillField.setText(suggestion);
+                            SwingUtilities.invokeLater(() -> suggestionsPopup.setVisible(false));
+                        });
+                        suggestionsPopup.add(item);
+                    }
+                    suggestionsPopup.show(newSkillField, 0, newSkillField.getHeight());
+                });
+            }
+        });
     }
 
     private void createRecommendationsTab() {
@@ -219,7 +550,9 @@ class CareerAdvisorGUI extends JFrame {
             if (!e.getValueIsAdjusting()) {
                 int selectedRow = careerTable.getSelectedRow();
                 if (selectedRow != -1 && selectedRow < currentRecommendations.size()) {
-                    showCareerDetails(currentRecommendations.get(selectedRow));
+                    CareerPath career = currentRecommendations.get(selectedRow);
+                    advisor.recordInteraction(currentUser, career);
+                    showCareerDetails(career);
                 }
             }
         });
@@ -243,9 +576,14 @@ class CareerAdvisorGUI extends JFrame {
         JButton refreshButton = new JButton("Get Recommendations");
         refreshButton.addActionListener(e -> refreshRecommendations());
         buttonPanel.add(refreshButton);
+        loadMoreButton = new JButton("Load More");
+        loadMoreButton.setEnabled(recommendationStream != null);
+        loadMoreButton.addActionListener(e -> loadMoreRecommendations());
+        buttonPanel.add(loadMoreButton);
         recommendationsPanel.add(buttonPanel, BorderLayout.NORTH);
 
-        tabbedPane.addTab("Recommendations", recommendationsPanel);
+        tabbedPane.setComponentAt(RECOMMENDATIONS_TAB, recommendationsPanel);
+        showRecommendations();
     }
 
     private void createLearningPathTab() {
@@ -272,7 +610,21 @@ class CareerAdvisorGUI extends JFrame {
         refreshButton.addActionListener(e -> refreshCareerSelector());
         selectionPanel.add(refreshButton);
 
-        learningPathPanel.add(selectionPanel, BorderLayout.NORTH);
+        // Free-text resource search, e.g. "docker course under 20 hours"
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchPanel.add(new JLabel("Search Resources:"));
+        JTextField resourceSearchField = new JTextField(25);
+        searchPanel.add(resourceSearchField);
+        JButton searchButton = new JButton("Search");
+        ActionListener searchAction = e -> searchResources(resourceSearchField.getText());
+        searchButton.addActionListener(searchAction);
+        resourceSearchField.addActionListener(searchAction);
+        searchPanel.add(searchButton);
+
+        JPanel northPanel = new JPanel(new GridLayout(2, 1));
+        northPanel.add(selectionPanel);
+        northPanel.add(searchPanel);
+        learningPathPanel.add(northPanel, BorderLayout.NORTH);
 
         // Learning path display
         learningPathArea = new JTextArea();
@@ -283,7 +635,8 @@ class CareerAdvisorGUI extends JFrame {
 
         learningPathPanel.add(scrollPane, BorderLayout.CENTER);
 
-        tabbedPane.addTab("Learning Path", learningPathPanel);
+        tabbedPane.setComponentAt(LEARNING_PATH_TAB, learningPathPanel);
+        refreshCareerSelector();
     }
 
     private void createMarketTrendsTab() {
@@ -335,7 +688,7 @@ class CareerAdvisorGUI extends JFrame {
                 "Market data refreshed with latest trends!", "Info", JOptionPane.INFORMATION_MESSAGE));
         marketTrendsPanel.add(refreshButton, BorderLayout.SOUTH);
 
-        tabbedPane.addTab("Market Trends", marketTrendsPanel);
+        tabbedPane.setComponentAt(MARKET_TRENDS_TAB, marketTrendsPanel);
     }
 
     private void loadSampleData() {
@@ -350,10 +703,13 @@ class CareerAdvisorGUI extends JFrame {
         currentUser.setSkillLevels(skillLevels);
 
         currentUser.setInterests(Arrays.asList("AI", "Web Development", "Data Science"));
-        currentUser.setExperienceLevel("Intermediate");
+        currentUser.setExperienceLevel(User.INTERMEDIATE);
+        User sampleUser = currentUser;
+        CompletableFuture.runAsync(() -> advisor.getProfileManager().saveUserProfile(sampleUser));
 
         // Update UI with user data
-        updateSkillsList();
+        skillsListModel.reset(currentUser);
+        watchProfile(currentUser);
 
         interestsField.setText(String.join(", ", currentUser.getInterests()));
         experienceComboBox.setSelectedItem(currentUser.getExperienceLevel());
@@ -362,58 +718,48 @@ class CareerAdvisorGUI extends JFrame {
         refreshRecommendations();
     }
 
-    private void updateSkillsList() {
-        skillsListModel.clear();
-        for (String skill : currentUser.getSkills()) {
-            skillsListModel.addElement(skill + " (Level: " + currentUser.getSkillLevels().get(skill) + ")");
-        }
+    private void watchProfile(User user) {
+        // Edits made in one EDT turn arrive as a single batch
+        profileChanges = new ProfileChangeBatcher(this::applyProfileChanges, SwingUtilities::invokeLater);
+        user.addChangeListener(profileChanges);
+
+        recommendationDebounce = new javax.swing.Timer(400, e -> refreshRecommendations());
+        recommendationDebounce.setRepeats(false);
+    }
+
+    private void applyProfileChanges(List<ProfileChange> changes) {
+        skillsListModel.apply(changes, currentUser);
+        recommendationDebounce.restart();
     }
 
     private void addSkill() {
-        String newSkill = newSkillField.getText().trim();
-        if (!newSkill.isEmpty()) {
-            int level = skillLevelSlider.getValue();
-
-            // Add to user's skills
-            List<String> skills = new ArrayList<>(currentUser.getSkills());
-            skills.add(newSkill);
-            currentUser.setSkills(skills);
-
-            // Add to user's skill levels
-            Map<String, Integer> skillLevels = new HashMap<>(currentUser.getSkillLevels());
-            skillLevels.put(newSkill, level);
-            currentUser.setSkillLevels(skillLevels);
-
-            // Update UI
-            updateSkillsList();
-            newSkillField.setText("");
-
-            JOptionPane.showMessageDialog(this, "Skill added successfully!", "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            JOptionPane.showMessageDialog(this, "Please enter a skill name", "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        // Accepts a comma-separated paste of several skills
+        String typed = newSkillField.getText();
+        int level = skillLevelSlider.getValue();
+        withSkillIndex(index -> {
+            List<String> newSkills = index.canonicalizeAll(Arrays.asList(typed.split(",")));
+            if (!newSkills.isEmpty()) {
+                for (String newSkill : newSkills) {
+                    currentUser.addSkill(newSkill, level);
+                }
+                // Keep anything typed while the index was loading
+                if (newSkillField.getText().equals(typed)) {
+                    newSkillField.setText("");
+                }
+            } else {
+                JOptionPane.showMessageDialog(this, "Please enter a skill name", "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void removeSkill() {
-        int selectedIndex = skillsList.getSelectedIndex();
-        if (selectedIndex != -1) {
-            String selectedSkill = skillsListModel.getElementAt(selectedIndex);
-            String skillName = selectedSkill.split(" ")[0]; // Extract just the skill name
-
-            // Remove from user's skills
-            List<String> skills = new ArrayList<>(currentUser.getSkills());
-            skills.remove(skillName);
-            currentUser.setSkills(skills);
-
-            // Remove from user's skill levels
-            Map<String, Integer> skillLevels = new HashMap<>(currentUser.getSkillLevels());
-            skillLevels.remove(skillName);
-            currentUser.setSkillLevels(skillLevels);
-
-            // Update UI
-            updateSkillsList();
+        int[] selectedIndices = skillsList.getSelectedIndices();
+        if (selectedIndices.length > 0) {
+            // Remove from the bottom up so adjacent rows collapse into one list event
+            for (int i = selectedIndices.length - 1; i >= 0; i--) {
+                currentUser.removeSkill(skillsListModel.getSkillAt(selectedIndices[i]));
+            }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a skill to remove", "Error",
                     JOptionPane.ERROR_MESSAGE);
@@ -421,25 +767,126 @@ class CareerAdvisorGUI extends JFrame {
     }
 
     private void saveProfile() {
-        // Update interests
         String interestsText = interestsField.getText();
-        List<String> interests = Arrays.asList(interestsText.split("\\s*,\\s*"));
-        currentUser.setInterests(interests);
-
-        // Update experience level
-        currentUser.setExperienceLevel((String) experienceComboBox.getSelectedItem());
+        String experienceLevel = (String) experienceComboBox.getSelectedItem();
+        User user = currentUser;
+        withSkillIndex(index -> {
+            // Update interests
+            List<String> interests = index.canonicalizeAll(Arrays.asList(interestsText.split(",")));
+            user.setInterests(interests);
+            interestsField.setText(String.join(", ", interests));
+
+            // Update experience level
+            user.setExperienceLevel(experienceLevel);
+
+            // The profile store may still be loading, so save off the EDT
+            CompletableFuture.runAsync(() -> advisor.getProfileManager().saveUserProfile(user))
+                    .whenComplete((ignored, error) -> SwingUtilities.invokeLater(() -> {
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            JOptionPane.showMessageDialog(this, "Could not save profile: " + cause.getMessage(),
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Profile saved successfully!", "Success",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    }));
+        });
+    }
 
-        JOptionPane.showMessageDialog(this, "Profile saved successfully!", "Success",
-                JOptionPane.INFORMATION_MESSAGE);
+    // Runs the action on the EDT once the skill index has loaded; the EDT never waits for it
+    private void withSkillIndex(Consumer<SkillIndex> action) {
+        String loadingMessage = "Loading skill index...";
+        if (!advisor.isSkillIndexReady()) {
+            statusLabel.setText(loadingMessage);
+        }
+        advisor.getSkillIndexAsync().thenAcceptAsync(index -> {
+            if (loadingMessage.equals(statusLabel.getText())) {
+                statusLabel.setText(" ");
+            }
+            action.accept(index);
+        }, SwingUtilities::invokeLater);
     }
 
     private void refreshRecommendations() {
+        loadRecommendationPage(true);
+    }
+
+    private void loadMoreRecommendations() {
+        if (recommendationStream != null) {
+            loadRecommendationPage(false);
+        }
+    }
+
+    // The first page starts a new stream; later pages continue it where the last one stopped
+    private void loadRecommendationPage(boolean firstPage) {
+        // Score off the EDT; the first call may also wait for the catalog to finish loading
+        User user = currentUser;
+        int generation = firstPage ? ++recommendationGeneration : recommendationGeneration;
+        RecommendationStream continued = recommendationStream;
+        if (loadMoreButton != null) {
+            loadMoreButton.setEnabled(false);
+        }
+        new SwingWorker<RecommendationPage, Void>() {
+            private RecommendationStream stream;
+
+            @Override
+            protected RecommendationPage doInBackground() {
+                stream = firstPage ? advisor.streamRecommendations(user) : continued;
+                return stream.nextPage(RECOMMENDATION_PAGE_SIZE);
+            }
+
+            @Override
+            protected void done() {
+                if (generation != recommendationGeneration) return; // Superseded by a later edit
+
+                try {
+                    RecommendationPage page = get();
+                    // Streams return live catalog views; keep snapshots so catalog deltas cannot
+                    // change rows that are already on screen
+                    List<CareerPath> snapshots = new ArrayList<>();
+                    for (CareerPath career : page.getCareers()) {
+                        snapshots.add(career.copy());
+                    }
+                    if (firstPage) {
+                        currentRecommendations = snapshots;
+                    } else {
+                        currentRecommendations.addAll(snapshots);
+                    }
+                    recommendationStream = page.hasMore() ? stream : null;
+                } catch (Exception e) {
+                    recommendationStream = null;
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(CareerAdvisorGUI.this,
+                            "Could not load recommendations: " + cause.getMessage(), "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                } finally {
+                    if (loadMoreButton != null) {
+                        loadMoreButton.setEnabled(recommendationStream != null);
+                    }
+                }
+                showRecommendations();
+
+                // Update career selector in learning path tab
+                refreshCareerSelector();
+
+                if (!startupTimer.hasMark("first recommendation")) {
+                    startupTimer.mark("first recommendation");
+                    statusLabel.setText(String.format(
+                            "First recommendation %.0f ms after launch (Help > Startup Timing for details)",
+                            startupTimer.getMillis("first recommendation")));
+                }
+            }
+        }.execute();
+    }
+
+    private void showRecommendations() {
+        if (careerTableModel == null) return; // Tab not built yet
+
         // Clear existing data
         careerTableModel.setRowCount(0);
 
-        // Get recommendations
-        currentRecommendations = advisor.getCareerRecommender().recommendCareers(currentUser);
-
         // Populate table
         for (CareerPath career : currentRecommendations) {
             careerTableModel.addRow(new Object[]{
@@ -448,12 +895,11 @@ class CareerAdvisorGUI extends JFrame {
                     career.getGrowthPotential()
             });
         }
-
-        // Update career selector in learning path tab
-        refreshCareerSelector();
     }
 
     private void refreshCareerSelector() {
+        if (careerSelector == null) return; // Tab not built yet
+
         careerSelector.removeAllItems();
         for (CareerPath career : currentRecommendations) {
             careerSelector.addItem(career.getName());
@@ -469,8 +915,87 @@ class CareerAdvisorGUI extends JFrame {
         details.append("Growth Potential: ").append(career.getGrowthPotential()).append("\n");
         details.append("Required Skills: ").append(String.join(", ", career.getRequiredSkills())).append("\n");
         details.append("Related Roles: ").append(String.join(", ", career.getRelatedRoles()));
-
         careerDetailsArea.setText(details.toString());
+
+        // The catalog may still be loading, so look up similar careers off the EDT
+        int generation = ++careerDetailsGeneration;
+        new SwingWorker<List<String>, Void>() {
+            @Override
+            protected List<String> doInBackground() {
+                CareerRecommender recommender = advisor.getCareerRecommender();
+                List<String> similarCareers = new ArrayList<>();
+                for (SimilarityMatch match : recommender.findSimilarCareers(career, 3)) {
+                    // Removed by a catalog delta since the similarity index was built
+                    CareerPath similar = recommender.getCareer(match.getId());
+                    if (similar != null) {
+                        similarCareers.add(similar.getName() + String.format(" (%.0f%%)", match.getSimilarity() * 100));
+                    }
+                }
+                return similarCareers;
+            }
+
+            @Override
+            protected void done() {
+                if (generation != careerDetailsGeneration) return; // Another career was selected
+
+                try {
+                    List<String> similarCareers = get();
+                    if (!similarCareers.isEmpty()) {
+                        careerDetailsArea.append("\nSimilar Careers: " + String.join(", ", similarCareers));
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    careerDetailsArea.append("\nSimilar Careers: unavailable (" + cause.getMessage() + ")");
+                }
+            }
+        }.execute();
+    }
+
+    private void searchResources(String query) {
+        if (query.trim().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a search query", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Search off the EDT; the first call may also wait for the resources to finish loading
+        int generation = ++learningPathGeneration;
+        new SwingWorker<List<ResourceSearchResult>, Void>() {
+            @Override
+            protected List<ResourceSearchResult> doInBackground() {
+                return advisor.getLearningPathGenerator().searchResources(query, 20);
+            }
+
+            @Override
+            protected void done() {
+                if (generation != learningPathGeneration) return; // Superseded by a later search or path
+
+                List<ResourceSearchResult> results;
+                try {
+                    results = get();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(CareerAdvisorGUI.this,
+                            "Could not search resources: " + cause.getMessage(), "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                StringBuilder resultsText = new StringBuilder();
+                resultsText.append("Resources matching: ").append(query.trim()).append("\n\n");
+                if (results.isEmpty()) {
+                    resultsText.append("No matching resources found.\n");
+                }
+                for (ResourceSearchResult result : results) {
+                    LearningResource resource = result.getResource();
+                    resultsText.append("• ").append(resource.getName()).append(" (").append(resource.getType()).append(")\n");
+                    resultsText.append("  Time Required: ").append(resource.getEstimatedHours()).append(" hours\n");
+                    resultsText.append("  Skills: ").append(String.join(", ", resource.getSkillsCovered())).append("\n");
+                    resultsText.append("  URL: ").append(resource.getUrl()).append("\n\n");
+                }
+                learningPathArea.setText(resultsText.toString());
+                learningPathArea.setCaretPosition(0);
+            }
+        }.execute();
     }
 
     private void generateLearningPath() {
@@ -486,26 +1011,52 @@ class CareerAdvisorGUI extends JFrame {
             }
 
             if (selectedCareer != null) {
-                // Generate learning path
-                LearningPath learningPath = advisor.getLearningPathGenerator().generateLearningPath(currentUser, selectedCareer);
-
-                // Format the learning path text
-                StringBuilder pathText = new StringBuilder();
-                pathText.append("Learning Path for: ").append(selectedCareer.getName()).append("\n\n");
-                pathText.append("Estimated Duration: ").append(learningPath.getEstimatedDuration()).append(" weeks\n\n");
-                pathText.append("Skills to Develop:\n");
-                for (String skill : learningPath.getSkillsToDevelop()) {
-                    pathText.append("• ").append(skill).append("\n");
-                }
-
-                pathText.append("\nRecommended Resources:\n");
-                for (LearningResource resource : learningPath.getResources()) {
-                    pathText.append("• ").append(resource.getName()).append(" (").append(resource.getType()).append(")\n");
-                    pathText.append("  Time Required: ").append(resource.getEstimatedHours()).append(" hours\n");
-                    pathText.append("  URL: ").append(resource.getUrl()).append("\n\n");
-                }
+                // Generate learning path off the EDT; the generator may still be loading
+                User user = currentUser;
+                CareerPath career = selectedCareer;
+                int generation = ++learningPathGeneration;
+                new SwingWorker<LearningPath, Void>() {
+                    @Override
+                    protected LearningPath doInBackground() {
+                        LearningPath learningPath = advisor.generateLearningPath(user, career);
+                        advisor.recordInteraction(user, career);
+                        return learningPath;
+                    }
 
-                learningPathArea.setText(pathText.toString());
+                    @Override
+                    protected void done() {
+                        if (generation != learningPathGeneration) return; // Superseded by a later search or path
+
+                        LearningPath learningPath;
+                        try {
+                            learningPath = get();
+                        } catch (Exception e) {
+                            Throwable cause = e.getCause() != null ? e.getCause() : e;
+                            JOptionPane.showMessageDialog(CareerAdvisorGUI.this,
+                                    "Could not generate learning path: " + cause.getMessage(), "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
+
+                        // Format the learning path text
+                        StringBuilder pathText = new StringBuilder();
+                        pathText.append("Learning Path for: ").append(career.getName()).append("\n\n");
+                        pathText.append("Estimated Duration: ").append(learningPath.getEstimatedDuration()).append(" weeks\n\n");
+                        pathText.append("Skills to Develop:\n");
+                        for (String skill : learningPath.getSkillsToDevelop()) {
+                            pathText.append("• ").append(skill).append("\n");
+                        }
+
+                        pathText.append("\nRecommended Resources:\n");
+                        for (LearningResource resource : learningPath.getResources()) {
+                            pathText.append("• ").append(resource.getName()).append(" (").append(resource.getType()).append(")\n");
+                            pathText.append("  Time Required: ").append(resource.getEstimatedHours()).append(" hours\n");
+                            pathText.append("  URL: ").append(resource.getUrl()).append("\n\n");
+                        }
+
+                        learningPathArea.setText(pathText.toString());
+                    }
+                }.execute();
             }
         } else {
             JOptionPane.showMessageDialog(this, "Please select a career path first", "Error",
@@ -516,134 +1067,650 @@ class CareerAdvisorGUI extends JFrame {
 
 // Core Career Advisor class
 class CareerAdvisor {
-    private UserProfileManager profileManager;
-    private SkillMapper skillMapper;
-    private CareerRecommender careerRecommender;
-    private LearningPathGenerator learningPathGenerator;
-    private MarketAnalyzer marketAnalyzer;
+    // Optional skill vectors for the embedding similarity signal, read from the working directory
+    static final String SKILL_EMBEDDINGS_FILE = "skill-embeddings.txt";
+    static final double EMBEDDING_WEIGHT = 0.3;
+    static final double COLLABORATIVE_WEIGHT = 0.25;
+    // Optional career catalog, read from the working directory; the sample careers are used without it.
+    // Columns (by header name): id, name, description, skills, growth, roles; lists are ';' separated.
+    static final String CAREER_CATALOG_FILE = "careers.csv";
+
+    // Subsystems load in parallel on background threads; getters wait only for the one they need
+    private CompletableFuture<UserProfileManager> profileManager;
+    private CompletableFuture<SkillMapper> skillMapper;
+    private CompletableFuture<CareerRecommender> careerRecommender;
+    private CompletableFuture<LearningPathGenerator> learningPathGenerator;
+    private CompletableFuture<MarketAnalyzer> marketAnalyzer;
+    private CompletableFuture<SkillIndex> skillIndex;
+    private CollaborativeRecommender collaborativeRecommender;
+    private SingleFlight<String, List<CareerPath>> recommendationFlights;
+    private SingleFlight<String, LearningPath> learningPathFlights;
+    private AtomicLong catalogVersion;
+    private StartupTimer startupTimer;
 
     public CareerAdvisor() {
-        this.profileManager = new UserProfileManager();
-        this.skillMapper = new SkillMapper();
-        this.careerRecommender = new CareerRecommender();
-        this.learningPathGenerator = new LearningPathGenerator();
-        this.marketAnalyzer = new MarketAnalyzer();
+        this(new StartupTimer());
     }
 
-    public CareerRecommender getCareerRecommender() {
-        return careerRecommender;
+    public CareerAdvisor(StartupTimer startupTimer) {
+        this.startupTimer = startupTimer;
+        this.collaborativeRecommender = new CollaborativeRecommender();
+        this.recommendationFlights = new SingleFlight<>();
+        this.learningPathFlights = new SingleFlight<>();
+        this.catalogVersion = new AtomicLong();
+
+        ExecutorService startupPool = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                    Thread thread = new Thread(runnable, "advisor-startup");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.profileManager = load("profile manager", UserProfileManager::new, startupPool);
+        this.skillMapper = load("skill mapper", SkillMapper::new, startupPool);
+        CompletableFuture<SkillEmbeddings> skillEmbeddings = load("skill embeddings",
+                CareerAdvisor::loadSkillEmbeddings, startupPool);
+        // Recommender and generator share the advisor's mapper, so relation edits reach both
+        this.careerRecommender = load("career catalog", () -> {
+            CareerRecommender recommender = new CareerRecommender(loadCareers(id -> true));
+            recommender.setCollaborativeRecommender(collaborativeRecommender, COLLABORATIVE_WEIGHT);
+            return recommender;
+        }, startupPool).thenCombine(skillMapper, (recommender, mapper) -> {
+            recommender.setSkillMapper(mapper);
+            return recommender;
+        }).thenCombine(skillEmbeddings, (recommender, embeddings) -> {
+            if (embeddings != null) {
+                recommender.setEmbeddings(embeddings, EMBEDDING_WEIGHT);
+            }
+            return recommender;
+        });
+        this.learningPathGenerator = load("learning resources", LearningPathGenerator::new, startupPool)
+                .thenCombine(skillMapper, (generator, mapper) -> {
+                    generator.setSkillMapper(mapper);
+                    return generator;
+                });
+        this.marketAnalyzer = load("market analyzer", MarketAnalyzer::new, startupPool);
+        this.skillIndex = CompletableFuture.allOf(skillMapper, careerRecommender, learningPathGenerator, marketAnalyzer)
+                .thenApplyAsync(ignored -> startupTimer.time("skill index", this::buildSkillIndex), startupPool);
+        this.skillIndex.whenComplete((index, error) -> startupPool.shutdown());
     }
 
-    public LearningPathGenerator getLearningPathGenerator() {
-        return learningPathGenerator;
+    private <T> CompletableFuture<T> load(String phase, Supplier<T> loader, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> startupTimer.time(phase, loader), executor);
     }
-}
 
-// User class
-class User {
-    private String id;
-    private String name;
-    private String email;
-    private List<String> skills;
-    private Map<String, Integer> skillLevels;
-    private List<String> interests;
-    private String experienceLevel;
-    private LocalDate lastUpdated;
+    // The careers whose id passes the filter; shard workers load only their own slice
+    static List<CareerPath> loadCareers(Predicate<String> keep) {
+        Path file = Paths.get(CAREER_CATALOG_FILE);
+        if (!Files.exists(file)) {
+            List<CareerPath> careers = CareerRecommender.sampleCareers();
+            careers.removeIf(career -> !keep.test(career.getId()));
+            return careers;
+        }
+        try (Reader input = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return CareerRecommender.readCareers(input, keep);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-    public User(String id, String name, String email) {
-        this.id = id;
-        this.name = name;
-        this.email = email;
-        this.skills = new ArrayList<>();
-        this.skillLevels = new HashMap<>();
-        this.interests = new ArrayList<>();
-        this.experienceLevel = "Beginner";
-        this.lastUpdated = LocalDate.now();
+    // Null when the file is absent or unreadable; recommendations then use skill matching only
+    static SkillEmbeddings loadSkillEmbeddings() {
+        Path file = Paths.get(SKILL_EMBEDDINGS_FILE);
+        if (!Files.exists(file)) return null;
+        try {
+            return SkillEmbeddings.load(file);
+        } catch (IOException e) {
+            System.err.println("Skill embeddings not loaded: " + e.getMessage());
+            return null;
+        }
     }
 
-    // Getters and setters
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public StartupTimer getStartupTimer() {
+        return startupTimer;
+    }
 
-    public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    // Identical concurrent requests share one computation; each caller gets its own copies
+    public List<CareerPath> recommendCareers(User user) {
+        return copyCareers(recommendationFlights.execute(recommendationKey(user),
+                () -> getCareerRecommender().recommendCareers(user)).join());
+    }
 
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    // Best first, scored only as far as it is read; not thread-safe, one consumer at a time
+    public RecommendationStream streamRecommendations(User user) {
+        return getCareerRecommender().streamRecommendations(user, null);
+    }
 
-    public List<String> getSkills() { return skills; }
-    public void setSkills(List<String> skills) {
-        this.skills = skills;
-        this.lastUpdated = LocalDate.now();
+    // cursorToken comes from the previous page's cursor, or null for the first page
+    public RecommendationPage getRecommendationPage(User user, String cursorToken, int pageSize) {
+        RecommendationCursor after = cursorToken != null ? RecommendationCursor.fromToken(cursorToken) : null;
+        return getCareerRecommender().getRecommendationPage(user, after, pageSize);
     }
 
-    public Map<String, Integer> getSkillLevels() { return skillLevels; }
-    public void setSkillLevels(Map<String, Integer> skillLevels) {
-        this.skillLevels = skillLevels;
-        this.lastUpdated = LocalDate.now();
+    public CompletableFuture<List<CareerPath>> recommendCareersAsync(User user, Executor executor) {
+        return recommendationFlights.executeAsync(recommendationKey(user),
+                () -> getCareerRecommender().recommendCareers(user), executor).thenApply(this::copyCareers);
     }
 
-    public List<String> getInterests() { return interests; }
-    public void setInterests(List<String> interests) {
-        this.interests = interests;
-        this.lastUpdated = LocalDate.now();
+    public LearningPath generateLearningPath(User user, CareerPath career) {
+        LearningPath shared = learningPathFlights.execute(learningPathKey(user, career),
+                () -> getLearningPathGenerator().generateLearningPath(user, career)).join();
+
+        // Learning paths only depend on skills, so users with the same skills share one; re-id it per user
+        return new LearningPath("lp_" + user.getId() + "_" + career.getId(), career,
+                new ArrayList<>(shared.getResources()), new ArrayList<>(shared.getSkillsToDevelop()),
+                shared.getEstimatedDuration());
     }
 
-    public String getExperienceLevel() { return experienceLevel; }
-    public void setExperienceLevel(String experienceLevel) {
-        this.experienceLevel = experienceLevel;
-        this.lastUpdated = LocalDate.now();
+    public SingleFlight<String, List<CareerPath>> getRecommendationFlights() {
+        return recommendationFlights;
     }
 
-    public LocalDate getLastUpdated() { return lastUpdated; }
-}
+    public SingleFlight<String, LearningPath> getLearningPathFlights() {
+        return learningPathFlights;
+    }
 
-// User Profile Manager class
-class UserProfileManager {
-    private Map<String, User> users;
+    private String recommendationKey(User user) {
+        // Collaborative scores make results user-specific once the user has interactions
+        String owner = collaborativeRecommender.hasInteractions(user.getId()) ? user.getId() : "";
+        // Any catalog edit can reorder recommendations
+        return catalogVersion.get() + "|" + owner + "|" + user.getExperienceLevel() + "|" + skillSignature(user);
+    }
 
-    public UserProfileManager() {
-        this.users = new HashMap<>();
+    private String learningPathKey(User user, CareerPath career) {
+        // Only edits to this career, to resources or to skill relations change its path
+        return skillSignature(user) + "|" + career.getId()
+                + "@" + getCareerRecommender().getCareerVersion(career.getId())
+                + "." + getLearningPathGenerator().getVersion()
+                + "." + getSkillMapper().getVersion();
     }
 
-    public User getUserProfile(String userId) {
-        return users.get(userId);
+    // Applies the edits in order, updating indexes in place rather than rebuilding them;
+    // returns the new catalog version
+    public synchronized long applyCatalogDelta(CatalogDelta delta) {
+        CareerRecommender recommender = getCareerRecommender();
+        LearningPathGenerator generator = getLearningPathGenerator();
+        SkillMapper mapper = getSkillMapper();
+        SkillIndex index = getSkillIndex();
+
+        for (CatalogDelta.Change change : delta.getChanges()) {
+            switch (change.getType()) {
+                case PUT_CAREER:
+                    recommender.putCareer(change.getCareer());
+                    for (String skill : change.getCareer().getRequiredSkills()) {
+                        index.addSkill(skill);
+                    }
+                    break;
+                case REMOVE_CAREER:
+                    recommender.removeCareer(change.getKey());
+                    break;
+                case PUT_RESOURCE:
+                    LearningResource resource = change.getResource();
+                    generator.removeResource(resource.getId());
+                    generator.addResource(change.getKey(), resource);
+                    index.addSkill(change.getKey());
+                    for (String skill : resource.getSkillsCovered()) {
+                        index.addSkill(skill);
+                    }
+                    break;
+                case REMOVE_RESOURCE:
+                    generator.removeResource(change.getKey());
+                    break;
+                case ADD_SKILL_RELATION:
+                    mapper.addRelation(change.getKey(), change.getRelatedSkill());
+                    recommender.invalidateRelatedSkills(change.getKey());
+                    index.addSkill(change.getKey());
+                    index.addSkill(change.getRelatedSkill());
+                    break;
+                case REMOVE_SKILL_RELATION:
+                    mapper.removeRelation(change.getKey(), change.getRelatedSkill());
+                    recommender.invalidateRelatedSkills(change.getKey());
+                    break;
+            }
+        }
+        return catalogVersion.incrementAndGet();
     }
 
-    public void saveUserProfile(User user) {
-        users.put(user.getId(), user);
+    // Incremented by every applied delta
+    public long getCatalogVersion() {
+        return catalogVersion.get();
     }
-}
 
-// Skill Mapper class
-class SkillMapper {
-    private Map<String, List<String>> skillRelations;
+    // Skill levels are left out: neither scoring nor learning paths read them
+    private static String skillSignature(User user) {
+        List<String> skills = new ArrayList<>(user.getSkills());
+        Collections.sort(skills);
+        StringBuilder signature = new StringBuilder();
+        for (String skill : skills) {
+            signature.append(skill).append(';');
+        }
+        return signature.toString();
+    }
 
-    public SkillMapper() {
-        // Initialize skill relationships
-        skillRelations = new HashMap<>();
-        skillRelations.put("Java", Arrays.asList("Object-Oriented Programming", "Spring Framework", "JUnit"));
-        skillRelations.put("Python", Arrays.asList("Data Analysis", "Machine Learning", "Django"));
-        skillRelations.put("JavaScript", Arrays.asList("React", "Node.js", "TypeScript"));
-        skillRelations.put("SQL", Arrays.asList("Database Design", "Query Optimization", "NoSQL"));
-        skillRelations.put("Machine Learning", Arrays.asList("Python", "Statistics", "Data Analysis"));
-        skillRelations.put("Data Analysis", Arrays.asList("Python", "SQL", "Statistics"));
-        skillRelations.put("React", Arrays.asList("JavaScript", "Frontend Development", "UI/UX"));
-        skillRelations.put("Node.js", Arrays.asList("JavaScript", "Backend Development", "API Design"));
-        skillRelations.put("Docker", Arrays.asList("Containers", "DevOps", "Cloud Computing"));
-        skillRelations.put("AWS", Arrays.asList("Cloud Computing", "DevOps", "Infrastructure"));
+    private List<CareerPath> copyCareers(List<CareerPath> careers) {
+        List<CareerPath> copies = new ArrayList<>(careers.size());
+        for (CareerPath career : careers) {
+            copies.add(career.copy());
+        }
+        return copies;
     }
 
-    public List<String> getRelatedSkills(String skill) {
-        return skillRelations.getOrDefault(skill, new ArrayList<>());
+    // Viewing a career or generating its learning path counts as interest in it
+    public void recordInteraction(User user, CareerPath career) {
+        collaborativeRecommender.recordInteraction(user.getId(), career.getId());
     }
 
-    public Map<String, List<String>> getSkillGaps(User user, CareerPath career) {
-        Map<String, List<String>> gaps = new HashMap<>();
-        List<String> userSkills = user.getSkills();
+    private SkillIndex buildSkillIndex() {
+        SkillIndex index = new SkillIndex();
 
-        for (String requiredSkill : career.getRequiredSkills()) {
-            if (!userSkills.contains(requiredSkill)) {
+        // Every skill name the catalogs know about
+        for (String skill : skillMapper.join().getKnownSkills()) {
+            index.addSkill(skill);
+        }
+        for (CareerPath career : careerRecommender.join().getCareers()) {
+            for (String skill : career.getRequiredSkills()) {
+                index.addSkill(skill);
+            }
+        }
+        for (String skill : learningPathGenerator.join().getCoveredSkills()) {
+            index.addSkill(skill);
+        }
+        for (String field : marketAnalyzer.join().getGrowingFields()) {
+            index.addSkill(field);
+        }
+
+        // Common abbreviations
+        index.addAlias("JS", "JavaScript");
+        index.addAlias("TS", "TypeScript");
+        index.addAlias("ML", "Machine Learning");
+        index.addAlias("DL", "Deep Learning");
+        index.addAlias("AI", "Artificial Intelligence");
+        index.addAlias("K8s", "Kubernetes");
+        index.addAlias("Amazon Web Services", "AWS");
+        index.addAlias("Node", "Node.js");
+        index.addAlias("NodeJS", "Node.js");
+        index.addAlias("ReactJS", "React");
+        index.addAlias("Postgres", "SQL");
+        index.addAlias("Stats", "Statistics");
+        index.addAlias("CI CD", "CI/CD");
+        index.addAlias("HTML", "HTML/CSS");
+        index.addAlias("CSS", "HTML/CSS");
+        return index;
+    }
+
+    public CareerRecommender getCareerRecommender() {
+        return careerRecommender.join();
+    }
+
+    public LearningPathGenerator getLearningPathGenerator() {
+        return learningPathGenerator.join();
+    }
+
+    public SkillIndex getSkillIndex() {
+        return skillIndex.join();
+    }
+
+    public boolean isSkillIndexReady() {
+        return skillIndex.isDone();
+    }
+
+    // For callers that must not block, such as the EDT
+    public CompletableFuture<SkillIndex> getSkillIndexAsync() {
+        return skillIndex.copy();
+    }
+
+    public UserProfileManager getProfileManager() {
+        return profileManager.join();
+    }
+
+    public SkillMapper getSkillMapper() {
+        return skillMapper.join();
+    }
+
+    public MarketAnalyzer getMarketAnalyzer() {
+        return marketAnalyzer.join();
+    }
+
+    public CollaborativeRecommender getCollaborativeRecommender() {
+        return collaborativeRecommender;
+    }
+}
+
+// Catalog Delta class
+// An ordered batch of catalog edits: careers, learning resources and skill relations.
+// Puts add or replace by id; removes of unknown ids are ignored.
+class CatalogDelta {
+    public enum Type { PUT_CAREER, REMOVE_CAREER, PUT_RESOURCE, REMOVE_RESOURCE, ADD_SKILL_RELATION, REMOVE_SKILL_RELATION }
+
+    private List<Change> changes;
+
+    public CatalogDelta() {
+        this.changes = new ArrayList<>();
+    }
+
+    public CatalogDelta putCareer(CareerPath career) {
+        changes.add(new Change(Type.PUT_CAREER, career.getId(), null, career, null));
+        return this;
+    }
+
+    public CatalogDelta removeCareer(String careerId) {
+        changes.add(new Change(Type.REMOVE_CAREER, careerId, null, null, null));
+        return this;
+    }
+
+    // Files the resource under the skill, replacing any resource with the same id
+    public CatalogDelta putResource(String skill, LearningResource resource) {
+        changes.add(new Change(Type.PUT_RESOURCE, skill, null, null, resource));
+        return this;
+    }
+
+    public CatalogDelta removeResource(String resourceId) {
+        changes.add(new Change(Type.REMOVE_RESOURCE, resourceId, null, null, null));
+        return this;
+    }
+
+    public CatalogDelta addSkillRelation(String skill, String relatedSkill) {
+        changes.add(new Change(Type.ADD_SKILL_RELATION, skill, relatedSkill, null, null));
+        return this;
+    }
+
+    public CatalogDelta removeSkillRelation(String skill, String relatedSkill) {
+        changes.add(new Change(Type.REMOVE_SKILL_RELATION, skill, relatedSkill, null, null));
+        return this;
+    }
+
+    public List<Change> getChanges() { return Collections.unmodifiableList(changes); }
+    public int size() { return changes.size(); }
+
+    // key is the career id, the resource's skill, the resource id or the relation's skill, by type
+    static class Change {
+        private Type type;
+        private String key;
+        private String relatedSkill;
+        private CareerPath career;
+        private LearningResource resource;
+
+        Change(Type type, String key, String relatedSkill, CareerPath career, LearningResource resource) {
+            this.type = type;
+            this.key = key;
+            this.relatedSkill = relatedSkill;
+            this.career = career;
+            this.resource = resource;
+        }
+
+        public Type getType() { return type; }
+        public String getKey() { return key; }
+        public String getRelatedSkill() { return relatedSkill; }
+        public CareerPath getCareer() { return career; }
+        public LearningResource getResource() { return resource; }
+    }
+}
+
+// User class
+class User {
+    static final String BEGINNER = "Beginner";
+    static final String INTERMEDIATE = "Intermediate";
+    static final String EXPERT = "Expert";
+    // Every level the recommender scores, lowest first
+    static final List<String> EXPERIENCE_LEVELS = Collections.unmodifiableList(
+            Arrays.asList(BEGINNER, INTERMEDIATE, EXPERT));
+
+    private String id;
+    private String name;
+    private String email;
+    // Replaced rather than mutated, so readers on other threads see a consistent snapshot
+    private volatile List<String> skills;
+    private volatile Map<String, Integer> skillLevels;
+    private List<String> interests;
+    private String experienceLevel;
+    private LocalDate lastUpdated;
+    private List<ProfileChangeListener> listeners;
+
+    public User(String id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.skills = new ArrayList<>();
+        this.skillLevels = new HashMap<>();
+        this.interests = new ArrayList<>();
+        this.experienceLevel = BEGINNER;
+        this.lastUpdated = LocalDate.now();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addChangeListener(ProfileChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ProfileChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Adds the skill, or updates its level if already present
+    public void addSkill(String skill, int level) {
+        List<String> updatedSkills = skills;
+        ProfileChange change;
+        int index = skills.indexOf(skill);
+        if (index < 0) {
+            updatedSkills = new ArrayList<>(skills);
+            updatedSkills.add(skill);
+            change = new ProfileChange(id, ProfileChange.Type.SKILL_ADDED, skill, updatedSkills.size() - 1, level);
+        } else {
+            change = new ProfileChange(id, ProfileChange.Type.SKILL_LEVEL_CHANGED, skill, index, level);
+        }
+
+        Map<String, Integer> updatedLevels = new HashMap<>(skillLevels);
+        updatedLevels.put(skill, level);
+        this.skillLevels = updatedLevels;
+        this.skills = updatedSkills;
+        this.lastUpdated = LocalDate.now();
+        fireChange(change);
+    }
+
+    public void removeSkill(String skill) {
+        int index = skills.indexOf(skill);
+        if (index < 0) return;
+
+        List<String> updatedSkills = new ArrayList<>(skills);
+        updatedSkills.remove(index);
+        Map<String, Integer> updatedLevels = new HashMap<>(skillLevels);
+        Integer level = updatedLevels.remove(skill);
+        this.skills = updatedSkills;
+        this.skillLevels = updatedLevels;
+        this.lastUpdated = LocalDate.now();
+        fireChange(new ProfileChange(id, ProfileChange.Type.SKILL_REMOVED, skill, index,
+                level != null ? level : 0));
+    }
+
+    private void fireChange(ProfileChange change) {
+        for (ProfileChangeListener listener : listeners) {
+            listener.profileChanged(change);
+        }
+    }
+
+    private void fireChange(ProfileChange.Type type) {
+        if (!listeners.isEmpty()) {
+            fireChange(new ProfileChange(id, type, null, -1, 0));
+        }
+    }
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public List<String> getSkills() { return skills; }
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+        this.lastUpdated = LocalDate.now();
+        fireChange(ProfileChange.Type.SKILLS_REPLACED);
+    }
+
+    public Map<String, Integer> getSkillLevels() { return skillLevels; }
+    public void setSkillLevels(Map<String, Integer> skillLevels) {
+        this.skillLevels = skillLevels;
+        this.lastUpdated = LocalDate.now();
+        fireChange(ProfileChange.Type.SKILLS_REPLACED);
+    }
+
+    public List<String> getInterests() { return interests; }
+    public void setInterests(List<String> interests) {
+        boolean changed = !interests.equals(this.interests);
+        this.interests = interests;
+        this.lastUpdated = LocalDate.now();
+        if (changed) fireChange(ProfileChange.Type.INTERESTS_CHANGED);
+    }
+
+    public String getExperienceLevel() { return experienceLevel; }
+    public void setExperienceLevel(String experienceLevel) {
+        boolean changed = !Objects.equals(experienceLevel, this.experienceLevel);
+        this.experienceLevel = experienceLevel;
+        this.lastUpdated = LocalDate.now();
+        if (changed) fireChange(ProfileChange.Type.EXPERIENCE_CHANGED);
+    }
+
+    public LocalDate getLastUpdated() { return lastUpdated; }
+}
+
+// User Profile Manager class
+class UserProfileManager {
+    private Map<String, User> users;
+    private MinHashIndex profileIndex;
+    private List<ProfileChangeListener> listeners;
+    private ProfileChangeListener forwarder;
+
+    public UserProfileManager() {
+        this.users = new ConcurrentHashMap<>();
+        this.profileIndex = new MinHashIndex();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.forwarder = change -> {
+            switch (change.getType()) {
+                case SKILL_ADDED:
+                case SKILL_REMOVED:
+                case SKILLS_REPLACED:
+                    // Keep similar-profile lookups current between saves
+                    User user = users.get(change.getUserId());
+                    if (user != null) {
+                        profileIndex.insert(user.getId(), user.getSkills());
+                    }
+                    break;
+                default:
+                    break;
+            }
+            for (ProfileChangeListener listener : listeners) {
+                listener.profileChanged(change);
+            }
+        };
+    }
+
+    // Receives edits made to any stored profile
+    public void addProfileListener(ProfileChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeProfileListener(ProfileChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public User getUserProfile(String userId) {
+        return users.get(userId);
+    }
+
+    public void saveUserProfile(User user) {
+        User previous = users.put(user.getId(), user);
+        if (previous != user) {
+            if (previous != null) previous.removeChangeListener(forwarder);
+            user.addChangeListener(forwarder);
+        }
+        profileIndex.insert(user.getId(), user.getSkills());
+    }
+
+    public List<SimilarityMatch> findSimilarProfiles(User user, int limit) {
+        return profileIndex.query(user.getSkills(), limit, 0.2, user.getId());
+    }
+}
+
+// Skill Mapper class
+class SkillMapper {
+    private Map<String, List<String>> skillRelations;
+    private AtomicLong version;
+
+    public SkillMapper() {
+        // Initialize skill relationships
+        skillRelations = new ConcurrentHashMap<>();
+        version = new AtomicLong();
+        skillRelations.put("Java", Arrays.asList("Object-Oriented Programming", "Spring Framework", "JUnit"));
+        skillRelations.put("Python", Arrays.asList("Data Analysis", "Machine Learning", "Django"));
+        skillRelations.put("JavaScript", Arrays.asList("React", "Node.js", "TypeScript"));
+        skillRelations.put("SQL", Arrays.asList("Database Design", "Query Optimization", "NoSQL"));
+        skillRelations.put("Machine Learning", Arrays.asList("Python", "Statistics", "Data Analysis"));
+        skillRelations.put("Data Analysis", Arrays.asList("Python", "SQL", "Statistics"));
+        skillRelations.put("React", Arrays.asList("JavaScript", "Frontend Development", "UI/UX"));
+        skillRelations.put("Node.js", Arrays.asList("JavaScript", "Backend Development", "API Design"));
+        skillRelations.put("Docker", Arrays.asList("Containers", "DevOps", "Cloud Computing"));
+        skillRelations.put("AWS", Arrays.asList("Cloud Computing", "DevOps", "Infrastructure"));
+    }
+
+    public List<String> getRelatedSkills(String skill) {
+        return skillRelations.getOrDefault(skill, new ArrayList<>());
+    }
+
+    // Relation lists are replaced, never mutated, so readers can hold on to them
+    public void addRelation(String skill, String relatedSkill) {
+        skillRelations.merge(skill, Collections.singletonList(relatedSkill), (existing, added) -> {
+            if (existing.contains(relatedSkill)) return existing;
+            List<String> merged = new ArrayList<>(existing);
+            merged.addAll(added);
+            return merged;
+        });
+        version.incrementAndGet();
+    }
+
+    public void removeRelation(String skill, String relatedSkill) {
+        skillRelations.computeIfPresent(skill, (key, existing) -> {
+            List<String> remaining = new ArrayList<>(existing);
+            remaining.remove(relatedSkill);
+            return remaining.isEmpty() ? null : remaining;
+        });
+        version.incrementAndGet();
+    }
+
+    // Replaces the skill's relations; returns false when they already were these
+    public boolean setRelations(String skill, List<String> relatedSkills) {
+        if (getRelatedSkills(skill).equals(relatedSkills)) return false;
+        if (relatedSkills.isEmpty()) {
+            skillRelations.remove(skill);
+        } else {
+            skillRelations.put(skill, new ArrayList<>(relatedSkills));
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    // Incremented by every relation edit
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Set<String> getKnownSkills() {
+        Set<String> skills = new LinkedHashSet<>();
+        for (Map.Entry<String, List<String>> entry : skillRelations.entrySet()) {
+            skills.add(entry.getKey());
+            skills.addAll(entry.getValue());
+        }
+        return skills;
+    }
+
+    public Map<String, List<String>> getSkillGaps(User user, CareerPath career) {
+        Map<String, List<String>> gaps = new HashMap<>();
+        List<String> userSkills = user.getSkills();
+
+        for (String requiredSkill : career.getRequiredSkills()) {
+            if (!userSkills.contains(requiredSkill)) {
                 // Find related skills the user might have
                 List<String> relatedSkills = new ArrayList<>();
                 for (String userSkill : userSkills) {
@@ -679,6 +1746,10 @@ class CareerPath {
         this.relatedRoles = relatedRoles;
     }
 
+    // For views that supply their fields from elsewhere
+    protected CareerPath() {
+    }
+
     // Getters and setters
     public String getId() { return id; }
     public String getName() { return name; }
@@ -688,15 +1759,61 @@ class CareerPath {
     public void setMatchScore(double matchScore) { this.matchScore = matchScore; }
     public String getGrowthPotential() { return growthPotential; }
     public List<String> getRelatedRoles() { return relatedRoles; }
+
+    public CareerPath copy() {
+        CareerPath copy = new CareerPath(getId(), getName(), getDescription(), new ArrayList<>(getRequiredSkills()),
+                getGrowthPotential(), new ArrayList<>(getRelatedRoles()));
+        copy.setMatchScore(matchScore);
+        return copy;
+    }
 }
 
 // Career Recommender class
 class CareerRecommender {
-    private List<CareerPath> careerDatabase;
+    // Careers at or below this match are not recommended
+    static final double MIN_MATCH_SCORE = 20;
+    // Streams kept for outstanding page cursors; older ones are dropped and rebuilt if resumed
+    private static final int OPEN_STREAM_LIMIT = 64;
+
+    private OffHeapCareerCatalog catalog;
+    private SkillPostings skillPostings;
+    private long postingsCoveredAt;  // catalog modification count skillPostings' changed rows reach
+    private MinHashIndex similarityIndex;
+    private CollaborativeRecommender collaborativeRecommender;
+    private double collaborativeWeight;
+    private CareerEmbeddingIndex embeddingIndex;
+    private double embeddingWeight;
+    private SkillMapper skillMapper;
+    private Map<String, int[]> relatedSkillIds;  // user skill -> catalog ids of its related skills
+    private volatile int relatedSkillCount;      // catalog skill count relatedSkillIds was resolved against
+    private Map<Long, OpenStream> openStreams;   // cursor stream id -> stream paused after that page
+    private AtomicLong streamIds;
 
     public CareerRecommender() {
+        this(sampleCareers());
+    }
+
+    public CareerRecommender(List<CareerPath> careers) {
+        catalog = new OffHeapCareerCatalog(careers.size());
+        similarityIndex = new MinHashIndex();
+        skillMapper = new SkillMapper();
+        relatedSkillIds = new ConcurrentHashMap<>();
+        openStreams = new LinkedHashMap<Long, OpenStream>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OpenStream> eldest) {
+                return size() > OPEN_STREAM_LIMIT;
+            }
+        };
+        streamIds = new AtomicLong();
+        for (CareerPath career : careers) {
+            catalog.add(career);
+            similarityIndex.insert(career.getId(), career.getRequiredSkills());
+        }
+    }
+
+    static List<CareerPath> sampleCareers() {
         // Initialize with sample career paths
-        careerDatabase = new ArrayList<>();
+        List<CareerPath> careerDatabase = new ArrayList<>();
         careerDatabase.add(new CareerPath(
                 "cp1", "Data Scientist",
                 "Analyze and interpret complex data to help organizations make better decisions",
@@ -744,81 +1861,910 @@ class CareerRecommender {
                 "Very High",
                 Arrays.asList("Cloud Engineer", "Infrastructure Architect", "DevOps Engineer")
         ));
+        return careerDatabase;
     }
 
-    public List<CareerPath> recommendCareers(User user) {
-        List<CareerPath> recommendations = new ArrayList<>();
-        SkillMapper skillMapper = new SkillMapper();
+    // Reads a career CSV (see CareerAdvisor.CAREER_CATALOG_FILE), keeping the careers whose id passes the filter
+    static List<CareerPath> readCareers(Reader input, Predicate<String> keep) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(input);
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new IOException("Career catalog is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("id")) {
+            throw new IOException("Career catalog has no 'id' column");
+        }
 
-        for (CareerPath career : careerDatabase) {
-            double matchScore = calculateMatchScore(user, career, skillMapper);
+        List<CareerPath> careers = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            String id = catalogField(record, columns, "id");
+            if (id.isEmpty() || !keep.test(id)) continue;
+            careers.add(new CareerPath(id, catalogField(record, columns, "name"),
+                    catalogField(record, columns, "description"), catalogList(record, columns, "skills"),
+                    catalogField(record, columns, "growth"), catalogList(record, columns, "roles")));
+        }
+        return careers;
+    }
+
+    private static String catalogField(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
 
-            if (matchScore > 20) { // Recommend if at least 20% match
-                CareerPath careerCopy = new CareerPath(
-                        career.getId(),
-                        career.getName(),
-                        career.getDescription(),
-                        new ArrayList<>(career.getRequiredSkills()),
-                        career.getGrowthPotential(),
-                        new ArrayList<>(career.getRelatedRoles())
-                );
-                careerCopy.setMatchScore(matchScore);
-                recommendations.add(careerCopy);
+    private static List<String> catalogList(List<String> record, Map<String, Integer> columns, String name) {
+        List<String> values = new ArrayList<>();
+        for (String value : catalogField(record, columns, name).split(";")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
             }
         }
+        return values;
+    }
 
-        // Sort by match score descending
-        recommendations.sort((c1, c2) -> Double.compare(c2.getMatchScore(), c1.getMatchScore()));
+    // Views over the live catalog rows
+    public List<CareerPath> getCareers() {
+        int[] rows = catalog.liveRows();
+        return new AbstractList<CareerPath>() {
+            @Override
+            public CareerPath get(int index) {
+                return catalog.view(rows[index]);
+            }
 
-        return recommendations;
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
     }
 
-    private double calculateMatchScore(User user, CareerPath career, SkillMapper skillMapper) {
-        List<String> userSkills = user.getSkills();
-        List<String> requiredSkills = career.getRequiredSkills();
+    // Blends profile-to-career embedding similarity into the skill match; weight is in [0, 1].
+    // Users with no skill in the embeddings are scored on skill match alone.
+    public void setEmbeddings(SkillEmbeddings embeddings, double weight) {
+        CareerEmbeddingIndex index = new CareerEmbeddingIndex(embeddings, catalog.size());
+        for (int row : catalog.liveRows()) {
+            index.set(row, catalog.getRequiredSkills(row));
+        }
+        this.embeddingIndex = index;
+        this.embeddingWeight = weight;
+    }
 
-        if (requiredSkills.isEmpty()) return 0;
+    public CareerEmbeddingIndex getEmbeddingIndex() {
+        return embeddingIndex;
+    }
 
-        double matchedSkills = 0;
-        for (String skill : requiredSkills) {
-            if (userSkills.contains(skill)) {
-                // Exact match
-                matchedSkills += 1.0;
-            } else {
-                // Check for related skills
-                for (String userSkill : userSkills) {
-                    if (skillMapper.getRelatedSkills(userSkill).contains(skill)) {
-                        // Partial match for related skills
-                        matchedSkills += 0.3;
-                        break;
-                    }
-                }
-            }
+    // Related-skill weights follow this mapper's edges
+    public void setSkillMapper(SkillMapper skillMapper) {
+        this.skillMapper = skillMapper;
+        relatedSkillIds.clear();
+    }
+
+    // Adds the career or replaces the one with the same id
+    public void putCareer(CareerPath career) {
+        int row = catalog.put(career);
+        similarityIndex.insert(career.getId(), career.getRequiredSkills());
+        CareerEmbeddingIndex index = embeddingIndex;
+        if (index != null) {
+            index.set(row, career.getRequiredSkills());
         }
+    }
 
-        // Consider experience level
-        double experienceMultiplier = 1.0;
-        if ("Intermediate".equals(user.getExperienceLevel())) {
-            experienceMultiplier = 1.2;
-        } else if ("Expert".equals(user.getExperienceLevel())) {
-            experienceMultiplier = 1.5;
+    public boolean removeCareer(String careerId) {
+        int row = catalog.findRow(careerId);
+        if (!catalog.remove(careerId)) return false;
+        similarityIndex.remove(careerId);
+        CareerEmbeddingIndex index = embeddingIndex;
+        if (index != null) {
+            index.clear(row);
         }
+        return true;
+    }
 
-        return (matchedSkills / requiredSkills.size()) * 100 * experienceMultiplier;
+    // Call after editing the skill's relations in the mapper
+    public void invalidateRelatedSkills(String skill) {
+        relatedSkillIds.remove(skill);
     }
-}
 
-// Learning Path class
-class LearningPath {
-    private String id;
-    private CareerPath targetCareer;
-    private List<LearningResource> resources;
-    private List<String> skillsToDevelop;
-    private int estimatedDuration;
+    // Grows with every career add, replace and remove
+    public long getCatalogVersion() {
+        return catalog.getModificationCount();
+    }
 
-    public LearningPath(String id, CareerPath targetCareer, List<LearningResource> resources,
-                        List<String> skillsToDevelop, int estimatedDuration) {
-        this.id = id;
+    // Catalog version of the career's last change, or -1 if it is not in the catalog
+    public long getCareerVersion(String careerId) {
+        int row = catalog.findRow(careerId);
+        return row >= 0 ? catalog.getRowVersion(row) : -1;
+    }
+
+    // Adds "users like you pursued" scores on top of a qualifying content match; weight is in [0, 1]
+    public void setCollaborativeRecommender(CollaborativeRecommender recommender, double weight) {
+        this.collaborativeRecommender = recommender;
+        this.collaborativeWeight = weight;
+    }
+
+    public CareerPath getCareer(String careerId) {
+        int row = catalog.findRow(careerId);
+        return row >= 0 ? catalog.view(row) : null;
+    }
+
+    public List<SimilarityMatch> findSimilarCareers(CareerPath career, int limit) {
+        return similarityIndex.query(career.getRequiredSkills(), limit, 0.1, career.getId());
+    }
+
+    public List<CareerPath> recommendCareers(User user) {
+        return recommendCareers(user, collaborativeScores(user));
+    }
+
+    // Same ranking with collaborative scores (by career id) computed elsewhere, as shard workers get them
+    public List<CareerPath> recommendCareers(User user, Map<String, Double> careerScores) {
+        List<CareerPath> recommendations = new ArrayList<>();
+        Map<Integer, Double> collaborativeScores = collaborativeRows(careerScores);
+        double[] skillWeights = calculateSkillWeights(user);
+        float[] similarities = embeddingSimilarities(user);
+        RecommendationStream.RowScorer scorer = scorer(user, collaborativeScores,
+                similarities != null ? row -> row < similarities.length ? similarities[row] : 0 : null);
+
+        catalog.scan(skillWeights, (row, matchedSkills, requiredSkillCount) -> {
+            double matchScore = scorer.score(row, matchedSkills, requiredSkillCount);
+            if (matchScore > MIN_MATCH_SCORE) { // Recommend if at least 20% match
+                CareerPath career = catalog.view(row);
+                career.setMatchScore(matchScore);
+                recommendations.add(career);
+            }
+        });
+
+        recommendations.sort(CareerRecommender::compareRanking);
+        return recommendations;
+    }
+
+    // Match score descending; equal scores by career id, the order streamed pages come in
+    static int compareRanking(CareerPath c1, CareerPath c2) {
+        int byScore = Double.compare(c2.getMatchScore(), c1.getMatchScore());
+        return byScore != 0 ? byScore : c1.getId().compareTo(c2.getId());
+    }
+
+    // Same results as recommendCareers, best first, scoring only as far as the consumer reads
+    public RecommendationStream streamRecommendations(User user, RecommendationCursor after) {
+        Map<Integer, Double> collaborativeScores = collaborativeRows(collaborativeScores(user));
+        double[] skillWeights = calculateSkillWeights(user);
+        CareerEmbeddingIndex.Query similarity = embeddingQuery(user);
+        double unseenScale = 100 * calculateExperienceMultiplier(user);
+        double similarityWeight = similarity != null ? embeddingWeight : 0;
+        SkillPostings postings = getSkillPostings();
+        // Rows changed since the postings or embedding clusters were built are scored directly,
+        // like collaborative hits
+        List<Integer> seededRows = new ArrayList<>(collaborativeScores.keySet());
+        for (int row : postings.getChangedRows()) {
+            seededRows.add(row);
+        }
+        if (similarity != null) {
+            for (int row : similarity.getChangedRows()) {
+                seededRows.add(row);
+            }
+        }
+        return new RecommendationStream(catalog, postings, skillWeights,
+                scorer(user, collaborativeScores, similarity != null ? similarity::similarity : null), seededRows,
+                unseenScale * (1 - similarityWeight), similarity, unseenScale * similarityWeight, after);
+    }
+
+    // A cursor from an earlier page resumes the stream that produced it, so page k costs one page
+    // of work rather than k. If that stream is gone or the catalog, skill relations or profile have
+    // changed since, a new stream is built and skips past the cursor's position instead.
+    public RecommendationPage getRecommendationPage(User user, RecommendationCursor after, int pageSize) {
+        String streamKey = streamKey(user);
+        RecommendationStream stream = null;
+        if (after != null && after.getStreamId() != 0) {
+            OpenStream open;
+            synchronized (openStreams) {
+                // Taken out while in use: a retried cursor must not see the stream a page further on
+                open = openStreams.remove(after.getStreamId());
+            }
+            if (open != null && open.key.equals(streamKey)) {
+                stream = open.stream;
+            }
+        }
+        if (stream == null) {
+            stream = streamRecommendations(user, after);
+        }
+
+        RecommendationPage page = stream.nextPage(pageSize);
+        if (!page.hasMore()) return page;
+        long streamId = streamIds.incrementAndGet();
+        synchronized (openStreams) {
+            openStreams.put(streamId, new OpenStream(streamKey, stream));
+        }
+        return new RecommendationPage(page.getCareers(), page.getNextCursor().withStreamId(streamId));
+    }
+
+    // Everything a stream's remaining order depends on, apart from interactions recorded since it started
+    private String streamKey(User user) {
+        List<String> skills = new ArrayList<>(user.getSkills());
+        Collections.sort(skills);
+        return catalog.getModificationCount() + "|" + skillMapper.getVersion() + "|" + user.getId()
+                + "|" + user.getExperienceLevel() + "|" + skills;
+    }
+
+    // Small catalog deltas are carried as changed rows on top of the last build; the
+    // postings are rebuilt once the changes outgrow what a query can cheaply score directly
+    private synchronized SkillPostings getSkillPostings() {
+        long modifications = catalog.getModificationCount();
+        long rebuildAfter = Math.max(1024, catalog.size() / 64);
+        boolean current = skillPostings != null && modifications - skillPostings.getBuiltAt() <= rebuildAfter;
+        int[] changedRows = null;
+        if (current && modifications != postingsCoveredAt) {
+            changedRows = catalog.changedRowsSince(skillPostings.getBuiltAt());
+            current = changedRows != null;
+        }
+        if (!current) {
+            skillPostings = catalog.buildSkillPostings();
+            postingsCoveredAt = skillPostings.getBuiltAt();
+        } else if (changedRows != null) {
+            skillPostings = skillPostings.withChangedRows(changedRows);
+            postingsCoveredAt = modifications;
+        }
+        return skillPostings;
+    }
+
+    private Map<String, Double> collaborativeScores(User user) {
+        return collaborativeRecommender != null
+                ? collaborativeRecommender.scoreCareers(user.getId()) : Collections.emptyMap();
+    }
+
+    private Map<Integer, Double> collaborativeRows(Map<String, Double> careerScores) {
+        Map<Integer, Double> collaborativeScores = new HashMap<>();
+        for (Map.Entry<String, Double> entry : careerScores.entrySet()) {
+            int row = catalog.findRow(entry.getKey());
+            if (row >= 0) {
+                collaborativeScores.put(row, entry.getValue());
+            }
+        }
+        return collaborativeScores;
+    }
+
+    // Embedding similarity of the user to every catalog row, or null when the signal is off
+    private float[] embeddingSimilarities(User user) {
+        CareerEmbeddingIndex index = embeddingIndex;
+        if (index == null || embeddingWeight == 0) return null;
+        float[] userVector = index.getEmbeddings().meanVector(user.getSkills());
+        return userVector != null ? index.similarities(userVector) : null;
+    }
+
+    // The same signal row by row, for streams; null when the signal is off
+    private CareerEmbeddingIndex.Query embeddingQuery(User user) {
+        CareerEmbeddingIndex index = embeddingIndex;
+        if (index == null || embeddingWeight == 0) return null;
+        float[] userVector = index.getEmbeddings().meanVector(user.getSkills());
+        return userVector != null ? index.query(userVector) : null;
+    }
+
+    private RecommendationStream.RowScorer scorer(User user, Map<Integer, Double> collaborativeScores,
+                                                  IntToDoubleFunction similarities) {
+        double experienceMultiplier = calculateExperienceMultiplier(user);
+        return (row, matchedSkills, requiredSkillCount) -> {
+            double match = requiredSkillCount == 0 ? 0 : matchedSkills / requiredSkillCount;
+            if (similarities != null) {
+                double similarity = Math.max(0, similarities.applyAsDouble(row));
+                match = (1 - embeddingWeight) * match + embeddingWeight * similarity;
+            }
+            double matchScore = match * 100 * experienceMultiplier;
+            // Collaborative scores only boost careers the content match already qualifies
+            if (matchScore <= MIN_MATCH_SCORE) return 0;
+            return matchScore + collaborativeWeight * 100 * collaborativeScores.getOrDefault(row, 0.0);
+        };
+    }
+
+    // Per catalog skill id: 1.0 for skills the user has, 0.3 for skills related to one they have
+    private double[] calculateSkillWeights(User user) {
+        double[] weights = new double[catalog.getSkillCount()];
+        for (String userSkill : user.getSkills()) {
+            for (int skillId : relatedSkillIds(userSkill)) {
+                if (skillId < weights.length) {
+                    weights[skillId] = 0.3;
+                }
+            }
+        }
+        for (String userSkill : user.getSkills()) {
+            int skillId = catalog.findSkill(userSkill);
+            if (skillId >= 0) {
+                weights[skillId] = 1.0;
+            }
+        }
+        return weights;
+    }
+
+    // Resolved once per skill; dropped when its relations change or the catalog learns new skills
+    private int[] relatedSkillIds(String skill) {
+        int skillCount = catalog.getSkillCount();
+        if (skillCount != relatedSkillCount) {
+            relatedSkillIds.clear();
+            relatedSkillCount = skillCount;
+        }
+        return relatedSkillIds.computeIfAbsent(skill, key -> {
+            IntList ids = new IntList();
+            for (String relatedSkill : skillMapper.getRelatedSkills(key)) {
+                int skillId = catalog.findSkill(relatedSkill);
+                if (skillId >= 0) {
+                    ids.add(skillId);
+                }
+            }
+            return ids.toArray();
+        });
+    }
+
+    private static class OpenStream {
+        private final String key;
+        private final RecommendationStream stream;
+
+        OpenStream(String key, RecommendationStream stream) {
+            this.key = key;
+            this.stream = stream;
+        }
+    }
+
+    private double calculateExperienceMultiplier(User user) {
+        // Consider experience level
+        double experienceMultiplier = 1.0;
+        if (User.INTERMEDIATE.equals(user.getExperienceLevel())) {
+            experienceMultiplier = 1.2;
+        } else if (User.EXPERT.equals(user.getExperienceLevel())) {
+            experienceMultiplier = 1.5;
+        }
+        return experienceMultiplier;
+    }
+}
+
+// Skill Embeddings class
+// Skill vectors from a local text file in word2vec text format: a "<count> <dimensions>" header,
+// then one skill per line followed by its components. Skill names may contain spaces, since the
+// last <dimensions> fields of a line are the vector. Lookups ignore case.
+class SkillEmbeddings {
+    private final int dimensions;
+    private final Map<String, float[]> vectors;
+
+    public SkillEmbeddings(int dimensions) {
+        this.dimensions = dimensions;
+        this.vectors = new ConcurrentHashMap<>();
+    }
+
+    public static SkillEmbeddings load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] header = String.valueOf(reader.readLine()).trim().split("\\s+");
+            if (header.length != 2) {
+                throw new IOException(file + ": expected a '<count> <dimensions>' header");
+            }
+            SkillEmbeddings embeddings = new SkillEmbeddings(Integer.parseInt(header[1]));
+            int lineNumber = 1;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                String[] fields = line.trim().split("\\s+");
+                int nameFields = fields.length - embeddings.dimensions;
+                if (nameFields < 1) {
+                    throw new IOException(file + " line " + lineNumber + ": expected a skill and "
+                            + embeddings.dimensions + " values");
+                }
+                float[] vector = new float[embeddings.dimensions];
+                try {
+                    for (int i = 0; i < vector.length; i++) {
+                        vector[i] = Float.parseFloat(fields[nameFields + i]);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + " line " + lineNumber + ": " + e.getMessage(), e);
+                }
+                embeddings.put(String.join(" ", Arrays.asList(fields).subList(0, nameFields)), vector);
+            }
+            return embeddings;
+        } catch (NumberFormatException e) {
+            throw new IOException(file + ": bad header: " + e.getMessage(), e);
+        }
+    }
+
+    public void put(String skill, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " values for " + skill + ", got " + vector.length);
+        }
+        vectors.put(skill.toLowerCase(Locale.ROOT), vector.clone());
+    }
+
+    // Null when the skill has no vector
+    public float[] get(String skill) {
+        return vectors.get(skill.toLowerCase(Locale.ROOT));
+    }
+
+    public int getDimensions() { return dimensions; }
+    public int size() { return vectors.size(); }
+
+    // Unit-length mean of the vectors of the skills that have one, or null if none do
+    public float[] meanVector(Collection<String> skills) {
+        List<float[]> vectors = new ArrayList<>();
+        for (String skill : skills) {
+            float[] vector = get(skill);
+            if (vector != null) {
+                vectors.add(vector);
+            }
+        }
+        return unitMean(vectors);
+    }
+
+    // Null for no vectors or a zero mean
+    public float[] unitMean(List<float[]> vectors) {
+        float[] mean = new float[dimensions];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < dimensions; i++) {
+                mean[i] += vector[i];
+            }
+        }
+        double norm = 0;
+        for (float value : mean) {
+            norm += value * value;
+        }
+        if (norm == 0) return null;
+        float inverse = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) {
+            mean[i] *= inverse;
+        }
+        return mean;
+    }
+}
+
+// Career Embedding Index class
+// One int8 vector per catalog row: the career's mean skill vector at unit length, scaled so its
+// largest component is +-127, with the scale kept per row. That is dimensions + 4 bytes per
+// career instead of 4 * dimensions for floats. Similarities are integer dot products over blocks
+// of rows copied to the heap, with blocks spread across cores.
+// Streams instead read the rows through EmbeddingClusters, built on the first query and again
+// once enough rows have changed; rows set or cleared since the build are handed out with each
+// query so they can be scored directly.
+class CareerEmbeddingIndex {
+    private static final int BLOCK_ROWS = 2048;
+
+    private final SkillEmbeddings embeddings;
+    private final int dimensions;
+    private final ThreadLocal<byte[]> blockBuffers;
+    private final ReentrantReadWriteLock lock;
+    private ByteBuffer vectors;     // row * dimensions + i -> component i
+    private float[] scales;         // row -> scale; 0 when the career has no skill with a vector
+    private int[] anchors;          // row -> centroid of the own skill nearest the row's vector
+    private final Map<float[], Integer> centroidIds;   // by the embeddings' own skill vector
+    private final List<float[]> centroids;   // unit-length skill vectors
+    private int rowCount;
+    private EmbeddingClusters clusters;
+    private int[] changedRows;      // rows set or cleared since clusters was built, with repeats
+    private int changedCount;
+
+    public CareerEmbeddingIndex(SkillEmbeddings embeddings, int expectedRows) {
+        this.embeddings = embeddings;
+        this.dimensions = embeddings.getDimensions();
+        this.blockBuffers = ThreadLocal.withInitial(() -> new byte[BLOCK_ROWS * dimensions]);
+        this.lock = new ReentrantReadWriteLock();
+        this.vectors = ByteBuffer.allocateDirect(Math.max(1, expectedRows) * dimensions);
+        this.scales = new float[Math.max(1, expectedRows)];
+        this.anchors = new int[Math.max(1, expectedRows)];
+        this.centroidIds = new IdentityHashMap<>();
+        this.centroids = new ArrayList<>();
+        this.changedRows = new int[16];
+    }
+
+    public SkillEmbeddings getEmbeddings() {
+        return embeddings;
+    }
+
+    // Rows may be set in any order; unset rows have no vector
+    public void set(int row, Collection<String> skills) {
+        List<float[]> skillVectors = new ArrayList<>();
+        for (String skill : skills) {
+            float[] vector = embeddings.get(skill);
+            if (vector != null) {
+                skillVectors.add(vector);
+            }
+        }
+        byte[] quantized = new byte[dimensions];
+        float[] mean = embeddings.unitMean(skillVectors);
+        float scale = mean != null ? quantize(mean, quantized) : 0;
+
+        // The row is grouped under its skill whose vector points closest to the mean
+        float[] anchor = null;
+        double bestCosine = Double.NEGATIVE_INFINITY;
+        for (float[] vector : mean != null ? skillVectors : Collections.<float[]>emptyList()) {
+            double dot = 0;
+            double squares = 0;
+            for (int i = 0; i < dimensions; i++) {
+                dot += mean[i] * vector[i];
+                squares += vector[i] * vector[i];
+            }
+            if (squares > 0 && dot / Math.sqrt(squares) > bestCosine) {
+                bestCosine = dot / Math.sqrt(squares);
+                anchor = vector;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (row >= scales.length) {
+                int capacity = Math.max(row + 1, scales.length * 2);
+                ByteBuffer grown = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, dimensions));
+                grown.put(0, vectors, 0, rowCount * dimensions);
+                vectors = grown;
+                scales = Arrays.copyOf(scales, capacity);
+                anchors = Arrays.copyOf(anchors, capacity);
+            }
+            vectors.put(row * dimensions, quantized);
+            scales[row] = scale;
+            if (anchor != null) {
+                anchors[row] = centroidIds.computeIfAbsent(anchor, vector -> {
+                    centroids.add(unitVector(vector));
+                    return centroids.size() - 1;
+                });
+            }
+            rowCount = Math.max(rowCount, row + 1);
+            logChange(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removed careers keep their row but no vector, and are skipped when scoring
+    public void clear(int row) {
+        lock.writeLock().lock();
+        try {
+            if (row < rowCount) {
+                vectors.put(row * dimensions, new byte[dimensions]);
+                scales[row] = 0;
+                logChange(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Past the rebuild point the log is dropped along with the clusters it amends
+    private void logChange(int row) {
+        if (clusters == null) return;
+        if (changedCount > rebuildAfter()) {
+            clusters = null;
+            changedCount = 0;
+            return;
+        }
+        if (changedCount == changedRows.length) {
+            changedRows = Arrays.copyOf(changedRows, changedCount * 2);
+        }
+        changedRows[changedCount++] = row;
+    }
+
+    private int rebuildAfter() {
+        return Math.max(1024, rowCount / 64);
+    }
+
+    public long getVectorBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) rowCount * (dimensions + Float.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cosine similarity of every row to the unit-length query, to within quantization error
+    public float[] similarities(float[] query) {
+        byte[] quantizedQuery = new byte[dimensions];
+        float queryScale = quantize(query, quantizedQuery);
+
+        lock.readLock().lock();
+        try {
+            float[] result = new float[rowCount];
+            int blocks = (rowCount + BLOCK_ROWS - 1) / BLOCK_ROWS;
+            ByteBuffer rows = vectors;
+            float[] rowScales = scales;
+            IntStream.range(0, blocks).parallel().forEach(block ->
+                    scoreBlock(block * BLOCK_ROWS, Math.min(rowCount, (block + 1) * BLOCK_ROWS),
+                            rows, rowScales, quantizedQuery, queryScale, result));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Per-row similarities to the unit-length query, equal to those of similarities(), plus the
+    // clusters to walk the rows by
+    public Query query(float[] query) {
+        byte[] quantizedQuery = new byte[dimensions];
+        float queryScale = quantize(query, quantizedQuery);
+        synchronized (this) {
+            lock.readLock().lock();
+            try {
+                if (clusters == null || changedCount > rebuildAfter()) {
+                    clusters = new EmbeddingClusters(vectors, scales, anchors, rowCount, centroids, dimensions);
+                    changedCount = 0;
+                }
+                return new Query(this, clusters, Arrays.copyOf(changedRows, changedCount), quantizedQuery, queryScale);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    // Same arithmetic as scoreBlock, so both give the same value
+    private float similarity(int row, byte[] query, float queryScale) {
+        byte[] buffer = blockBuffers.get();
+        lock.readLock().lock();
+        try {
+            if (row >= rowCount || scales[row] == 0) return 0;
+            vectors.get(row * dimensions, buffer, 0, dimensions);
+            int dot = 0;
+            for (int i = 0; i < dimensions; i++) {
+                dot += query[i] * buffer[i];
+            }
+            return dot * queryScale * scales[row];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scoreBlock(int from, int to, ByteBuffer rows, float[] rowScales,
+                            byte[] query, float queryScale, float[] result) {
+        byte[] block = blockBuffers.get();
+        rows.get(from * dimensions, block, 0, (to - from) * dimensions);
+        for (int row = from; row < to; row++) {
+            if (rowScales[row] == 0) continue;
+            int offset = (row - from) * dimensions;
+            int dot = 0;
+            for (int i = 0; i < dimensions; i++) {
+                dot += query[i] * block[offset + i];
+            }
+            result[row] = dot * queryScale * rowScales[row];
+        }
+    }
+
+    // Writes round(v / max|v| * 127) into out and returns the scale that maps it back
+    static float quantize(float[] vector, byte[] out) {
+        float max = 0;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        if (max == 0) {
+            Arrays.fill(out, (byte) 0);
+            return 0;
+        }
+        float scale = max / 127;
+        for (int i = 0; i < vector.length; i++) {
+            out[i] = (byte) Math.round(vector[i] / scale);
+        }
+        return scale;
+    }
+
+    private static float[] unitVector(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        double inverse = 1 / Math.sqrt(norm);
+        float[] unit = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = (float) (vector[i] * inverse);
+        }
+        return unit;
+    }
+
+    static class Query {
+        private final CareerEmbeddingIndex index;
+        private final EmbeddingClusters clusters;
+        private final int[] changedRows;
+        private final byte[] quantizedQuery;
+        private final float queryScale;
+
+        Query(CareerEmbeddingIndex index, EmbeddingClusters clusters, int[] changedRows,
+              byte[] quantizedQuery, float queryScale) {
+            this.index = index;
+            this.clusters = clusters;
+            this.changedRows = changedRows;
+            this.quantizedQuery = quantizedQuery;
+            this.queryScale = queryScale;
+        }
+
+        public EmbeddingClusters getClusters() { return clusters; }
+
+        // Rows the clusters may place wrongly or miss; possibly with repeats
+        public int[] getChangedRows() { return changedRows; }
+
+        public float similarity(int row) {
+            return index.similarity(row, quantizedQuery, queryScale);
+        }
+
+        // Similarities of the group's rows, in clusters' order, into out; stale for changed rows
+        public void groupSimilarities(int group, float[] out) {
+            clusters.similarities(group, quantizedQuery, queryScale, out);
+        }
+
+        public double[] groupBounds() {
+            return clusters.bounds(quantizedQuery, queryScale);
+        }
+    }
+}
+
+// Embedding Clusters class
+// The embedding index's rows grouped so that a query can bound the similarity of a whole group
+// at once. Each row sits under the skill (the centroid) whose unit vector is nearest the row's
+// own among the career's skills, in runs of up to GROUP_ROWS rows sorted by angle to it. If a
+// group's rows lie at angles lo..hi from their centroid and have length at most n, and the query
+// q is at angle a from it, the triangle inequality on the sphere puts every row at least
+// gap = max(0, a - hi, lo - a) from q, so no similarity in the group exceeds |q| n cos(gap).
+// Angles and lengths are those of the dequantized vectors, which the index's dot products are.
+// Like the index, the clusters keep every row's int8 vector and scale, here in group order, so
+// walking a group reads one contiguous block.
+class EmbeddingClusters {
+    static final int GROUP_ROWS = 256;
+    private static final double ANGLE_SLACK = 1e-3;  // acos loses precision near 0
+    private static final double BOUND_SLACK = 1e-5;
+
+    private final int dimensions;
+    private final float[] centroids;        // centroid * dimensions + i -> component i
+    private final int[] groupCentroids;
+    private final double[] minAngles;
+    private final double[] maxAngles;
+    private final double[] maxLengths;
+    private final int[] groupEnds;          // group -> end in rows
+    private final int[] rows;
+    private final ByteBuffer rowVectors;    // position * dimensions + i -> component i of rows[position]
+    private final float[] rowScales;
+    private final ThreadLocal<byte[]> blockBuffers;
+
+    EmbeddingClusters(ByteBuffer vectors, float[] scales, int[] anchors, int rowCount,
+                      List<float[]> centroidVectors, int dimensions) {
+        this.dimensions = dimensions;
+        int centroidCount = centroidVectors.size();
+        this.centroids = new float[centroidCount * dimensions];
+        for (int c = 0; c < centroidCount; c++) {
+            System.arraycopy(centroidVectors.get(c), 0, centroids, c * dimensions, dimensions);
+        }
+
+        // Counting sort of rows with a vector by centroid
+        int[] starts = new int[centroidCount + 1];
+        for (int row = 0; row < rowCount; row++) {
+            if (scales[row] != 0) {
+                starts[anchors[row] + 1]++;
+            }
+        }
+        for (int c = 0; c < centroidCount; c++) {
+            starts[c + 1] += starts[c];
+        }
+        int[] byCentroid = new int[starts[centroidCount]];
+        int[] cursors = Arrays.copyOf(starts, centroidCount);
+        for (int row = 0; row < rowCount; row++) {
+            if (scales[row] != 0) {
+                byCentroid[cursors[anchors[row]]++] = row;
+            }
+        }
+
+        // Angle to the centroid and length of each row's dequantized vector
+        double[] angles = new double[byCentroid.length];
+        double[] lengths = new double[byCentroid.length];
+        byte[] vector = new byte[dimensions];
+        for (int c = 0; c < centroidCount; c++) {
+            for (int p = starts[c]; p < starts[c + 1]; p++) {
+                int row = byCentroid[p];
+                vectors.get(row * dimensions, vector);
+                double dot = 0;
+                double squares = 0;
+                for (int i = 0; i < dimensions; i++) {
+                    dot += vector[i] * centroids[c * dimensions + i];
+                    squares += vector[i] * vector[i];
+                }
+                lengths[p] = scales[row] * Math.sqrt(squares);
+                angles[p] = Math.acos(Math.max(-1, Math.min(1, dot / Math.sqrt(squares))));
+            }
+        }
+
+        // Within each centroid, sort by angle and cut into groups
+        int groupCount = 0;
+        for (int c = 0; c < centroidCount; c++) {
+            groupCount += (starts[c + 1] - starts[c] + GROUP_ROWS - 1) / GROUP_ROWS;
+        }
+        this.groupCentroids = new int[groupCount];
+        this.minAngles = new double[groupCount];
+        this.maxAngles = new double[groupCount];
+        this.maxLengths = new double[groupCount];
+        this.groupEnds = new int[groupCount];
+        this.rows = new int[byCentroid.length];
+        this.rowVectors = ByteBuffer.allocateDirect(Math.max(1, byCentroid.length * dimensions));
+        this.rowScales = new float[byCentroid.length];
+        this.blockBuffers = ThreadLocal.withInitial(() -> new byte[GROUP_ROWS * dimensions]);
+        int group = 0;
+        for (int c = 0; c < centroidCount; c++) {
+            // Angle in the high bits keeps the sort on primitives; positions break ties
+            long[] order = new long[starts[c + 1] - starts[c]];
+            for (int p = starts[c]; p < starts[c + 1]; p++) {
+                order[p - starts[c]] = (long) (angles[p] / Math.PI * Integer.MAX_VALUE) << 32 | p;
+            }
+            Arrays.sort(order);
+            for (int i = 0; i < order.length; i++) {
+                int p = (int) order[i];
+                if (i % GROUP_ROWS == 0) {
+                    groupCentroids[group] = c;
+                    minAngles[group] = angles[p];
+                    maxAngles[group] = angles[p];
+                    group++;
+                }
+                int g = group - 1;
+                minAngles[g] = Math.min(minAngles[g], angles[p]);
+                maxAngles[g] = Math.max(maxAngles[g], angles[p]);
+                maxLengths[g] = Math.max(maxLengths[g], lengths[p]);
+                int position = starts[c] + i;
+                rows[position] = byCentroid[p];
+                rowVectors.put(position * dimensions, vectors, byCentroid[p] * dimensions, dimensions);
+                rowScales[position] = scales[byCentroid[p]];
+                groupEnds[g] = position + 1;
+            }
+        }
+    }
+
+    public int getGroupCount() { return groupEnds.length; }
+    public int groupStart(int group) { return group == 0 ? 0 : groupEnds[group - 1]; }
+    public int groupEnd(int group) { return groupEnds[group]; }
+    public int rowAt(int position) { return rows[position]; }
+
+    // Similarities of the group's rows to the quantized query as they were when the clusters were
+    // built, with the index's arithmetic
+    public void similarities(int group, byte[] query, float queryScale, float[] out) {
+        int start = groupStart(group);
+        int count = groupEnd(group) - start;
+        byte[] block = blockBuffers.get();
+        rowVectors.get(start * dimensions, block, 0, count * dimensions);
+        for (int r = 0; r < count; r++) {
+            int offset = r * dimensions;
+            int dot = 0;
+            for (int i = 0; i < dimensions; i++) {
+                dot += query[i] * block[offset + i];
+            }
+            out[r] = dot * queryScale * rowScales[start + r];
+        }
+    }
+
+    // Per group, the most any of its rows' similarity to the quantized query can be
+    public double[] bounds(byte[] query, float queryScale) {
+        double[] unitQuery = new double[dimensions];
+        double squares = 0;
+        for (int i = 0; i < dimensions; i++) {
+            squares += query[i] * query[i];
+        }
+        double queryLength = queryScale * Math.sqrt(squares);
+        double[] bounds = new double[groupEnds.length];
+        if (squares == 0) return bounds;
+        for (int i = 0; i < dimensions; i++) {
+            unitQuery[i] = query[i] / Math.sqrt(squares);
+        }
+
+        double[] centroidAngles = new double[centroids.length / dimensions];
+        for (int c = 0; c < centroidAngles.length; c++) {
+            double dot = 0;
+            for (int i = 0; i < dimensions; i++) {
+                dot += unitQuery[i] * centroids[c * dimensions + i];
+            }
+            centroidAngles[c] = Math.acos(Math.max(-1, Math.min(1, dot)));
+        }
+        for (int g = 0; g < bounds.length; g++) {
+            double angle = centroidAngles[groupCentroids[g]];
+            double gap = Math.max(0, Math.max(angle - maxAngles[g], minAngles[g] - angle) - ANGLE_SLACK);
+            bounds[g] = Math.max(0, queryLength * maxLengths[g] * Math.cos(gap)) + BOUND_SLACK;
+        }
+        return bounds;
+    }
+}
+
+// Learning Path class
+class LearningPath {
+    private String id;
+    private CareerPath targetCareer;
+    private List<LearningResource> resources;
+    private List<String> skillsToDevelop;
+    private int estimatedDuration;
+
+    public LearningPath(String id, CareerPath targetCareer, List<LearningResource> resources,
+                        List<String> skillsToDevelop, int estimatedDuration) {
+        this.id = id;
         this.targetCareer = targetCareer;
         this.resources = resources;
         this.skillsToDevelop = skillsToDevelop;
@@ -831,6 +2777,14 @@ class LearningPath {
     public List<LearningResource> getResources() { return resources; }
     public List<String> getSkillsToDevelop() { return skillsToDevelop; }
     public int getEstimatedDuration() { return estimatedDuration; }
+
+    public int getTotalHours() {
+        int totalHours = 0;
+        for (LearningResource resource : resources) {
+            totalHours += resource.getEstimatedHours();
+        }
+        return totalHours;
+    }
 }
 
 // Learning Resource class
@@ -864,10 +2818,15 @@ class LearningResource {
 // Learning Path Generator class
 class LearningPathGenerator {
     private Map<String, List<LearningResource>> learningResources;
+    private LearningResourceIndex resourceIndex;
+    private SkillMapper skillMapper;
+    private AtomicLong version;
 
     public LearningPathGenerator() {
         // Initialize with sample learning resources
-        learningResources = new HashMap<>();
+        learningResources = new ConcurrentHashMap<>();
+        skillMapper = new SkillMapper();
+        version = new AtomicLong();
 
         // Data Science resources
         learningResources.put("Python", Arrays.asList(
@@ -943,10 +2902,70 @@ class LearningPathGenerator {
                         "https://www.packtpub.com/product/node-js-design-patterns-third-edition/9781839214110", 25,
                         Arrays.asList("Node.js", "Design Patterns", "JavaScript"))
         ));
+
+        resourceIndex = new LearningResourceIndex();
+        for (List<LearningResource> resources : learningResources.values()) {
+            for (LearningResource resource : resources) {
+                resourceIndex.add(resource);
+            }
+        }
+    }
+
+    public void addResource(String skill, LearningResource resource) {
+        // Copy on write so concurrent path generation never sees a list mid-update
+        learningResources.merge(skill, Collections.singletonList(resource), (existing, added) -> {
+            List<LearningResource> merged = new ArrayList<>(existing);
+            merged.addAll(added);
+            return merged;
+        });
+        resourceIndex.add(resource);
+        version.incrementAndGet();
+    }
+
+    // Drops the resource from every skill it is filed under
+    public void removeResource(String resourceId) {
+        for (String skill : learningResources.keySet()) {
+            learningResources.computeIfPresent(skill, (key, existing) -> {
+                List<LearningResource> remaining = new ArrayList<>();
+                for (LearningResource resource : existing) {
+                    if (!resource.getId().equals(resourceId)) {
+                        remaining.add(resource);
+                    }
+                }
+                if (remaining.size() == existing.size()) return existing;
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+        resourceIndex.remove(resourceId);
+        version.incrementAndGet();
+    }
+
+    // Skill gaps follow this mapper's edges
+    public void setSkillMapper(SkillMapper skillMapper) {
+        this.skillMapper = skillMapper;
+    }
+
+    // Incremented by every resource edit
+    public long getVersion() {
+        return version.get();
+    }
+
+    public List<ResourceSearchResult> searchResources(String query, int limit) {
+        return resourceIndex.search(query, limit);
+    }
+
+    public Set<String> getCoveredSkills() {
+        Set<String> skills = new LinkedHashSet<>();
+        for (Map.Entry<String, List<LearningResource>> entry : learningResources.entrySet()) {
+            skills.add(entry.getKey());
+            for (LearningResource resource : entry.getValue()) {
+                skills.addAll(resource.getSkillsCovered());
+            }
+        }
+        return skills;
     }
 
     public LearningPath generateLearningPath(User user, CareerPath career) {
-        SkillMapper skillMapper = new SkillMapper();
         Map<String, List<String>> skillGaps = skillMapper.getSkillGaps(user, career);
 
         List<LearningResource> resources = new ArrayList<>();
@@ -954,9 +2973,16 @@ class LearningPathGenerator {
         int totalHours = 0;
 
         for (String skill : skillGaps.keySet()) {
-            if (learningResources.containsKey(skill)) {
+            LearningResource resource = null;
+            List<LearningResource> filed = learningResources.get(skill);
+            if (filed != null) {
                 // Add the first resource for each missing skill
-                LearningResource resource = learningResources.get(skill).get(0);
+                resource = filed.get(0);
+            } else {
+                // No resource filed under this skill; look for one that covers it
+                resource = findResourceCovering(skill);
+            }
+            if (resource != null && !resources.contains(resource)) {
                 resources.add(resource);
                 totalHours += resource.getEstimatedHours();
             }
@@ -973,6 +2999,18 @@ class LearningPathGenerator {
                 estimatedWeeks
         );
     }
+
+    private LearningResource findResourceCovering(String skill) {
+        ResourceQuery query = new ResourceQuery(skill, null, 0, Integer.MAX_VALUE);
+        for (ResourceSearchResult result : resourceIndex.search(query, 5)) {
+            for (String covered : result.getResource().getSkillsCovered()) {
+                if (covered.equalsIgnoreCase(skill)) {
+                    return result.getResource();
+                }
+            }
+        }
+        return null;
+    }
 }
 
 // Market Analyzer class
@@ -1003,4 +3041,5244 @@ class MarketAnalyzer {
                 "Data Science", "DevOps", "Blockchain", "Internet of Things"
         );
     }
+}
+// Skill Index class
+// Compressed trie over normalized skill names and aliases for prefix completion,
+// plus a trigram index for typo-tolerant canonicalization.
+class SkillIndex {
+    private static final int MAX_FUZZY_CANDIDATES = 8;
+    private static final double MIN_CANDIDATE_DICE = 0.4;
+
+    private final List<String> canonicalNames;     // skill id -> display name
+    private final Map<String, Integer> skillIds;    // normalized canonical name -> skill id
+    private final List<String> entryKeys;           // entry id -> normalized key (names and aliases)
+    private final IntList entrySkills;              // entry id -> skill id
+    private final IntList entryGramCounts;          // entry id -> distinct trigram count
+    private final Map<String, Integer> entryIds;    // normalized key -> entry id
+    private final Map<Long, IntList> gramPostings;  // trigram -> entry ids
+    private final TrieNode root;
+    private final ReentrantReadWriteLock lock;
+    private final ThreadLocal<int[]> scratchCounts;
+
+    public SkillIndex() {
+        this.canonicalNames = new ArrayList<>();
+        this.skillIds = new HashMap<>();
+        this.entryKeys = new ArrayList<>();
+        this.entrySkills = new IntList();
+        this.entryGramCounts = new IntList();
+        this.entryIds = new HashMap<>();
+        this.gramPostings = new HashMap<>();
+        this.root = new TrieNode("");
+        this.lock = new ReentrantReadWriteLock();
+        this.scratchCounts = ThreadLocal.withInitial(() -> new int[0]);
+    }
+
+    public void addSkill(String name) {
+        String display = clean(name);
+        if (display.isEmpty()) return;
+
+        lock.writeLock().lock();
+        try {
+            String key = normalize(display);
+            if (!skillIds.containsKey(key)) {
+                int skillId = canonicalNames.size();
+                canonicalNames.add(display);
+                skillIds.put(key, skillId);
+                addEntry(key, skillId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAlias(String alias, String canonicalName) {
+        addSkill(canonicalName);
+
+        lock.writeLock().lock();
+        try {
+            String key = normalize(clean(alias));
+            if (!key.isEmpty() && !entryIds.containsKey(key)) {
+                addEntry(key, skillIds.get(normalize(clean(canonicalName))));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryKeys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Canonical names whose name or alias starts with the prefix, shortest first
+    public List<String> complete(String prefix, int limit) {
+        String key = normalize(clean(prefix));
+        List<String> results = new ArrayList<>();
+        if (key.isEmpty() || limit <= 0) return results;
+
+        lock.readLock().lock();
+        try {
+            TrieNode node = root;
+            int matched = 0;
+            String path = null;
+            while (path == null) {
+                TrieNode child = node.child(key.charAt(matched));
+                if (child == null) return results;
+
+                String label = child.label;
+                int common = commonPrefixLength(label, key, matched);
+                if (matched + common == key.length()) {
+                    // Prefix ends inside or at the end of this edge
+                    path = key.substring(0, matched) + label;
+                } else if (common < label.length()) {
+                    return results;
+                }
+                matched += common;
+                node = child;
+            }
+
+            // Every entry at a node has the node's path as its key, and children only lengthen it,
+            // so visiting nodes by (path length, path) meets entries shortest first across the subtree
+            PriorityQueue<PendingNode> pending = new PriorityQueue<>(
+                    Comparator.comparingInt((PendingNode p) -> p.path.length()).thenComparing(p -> p.path));
+            pending.add(new PendingNode(path, node));
+            Set<Integer> seenSkills = new HashSet<>();
+            while (!pending.isEmpty()) {
+                PendingNode next = pending.poll();
+                for (int i = 0; i < next.node.entries.size(); i++) {
+                    int skillId = entrySkills.get(next.node.entries.get(i));
+                    if (seenSkills.add(skillId)) {
+                        results.add(canonicalNames.get(skillId));
+                        if (results.size() == limit) return results;
+                    }
+                }
+                for (int i = 0; i < next.node.childCount; i++) {
+                    TrieNode child = next.node.children[i];
+                    pending.add(new PendingNode(next.path + child.label, child));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Maps free text to a known skill name: exact or alias match first, then a close misspelling.
+    // Unknown skills are returned cleaned up but otherwise as typed.
+    public String canonicalize(String raw) {
+        String display = clean(raw);
+        if (display.isEmpty()) return display;
+        String key = normalize(display);
+
+        lock.readLock().lock();
+        try {
+            Integer entry = entryIds.get(key);
+            if (entry != null) {
+                return canonicalNames.get(entrySkills.get(entry));
+            }
+
+            int fuzzy = findClosestEntry(key);
+            return fuzzy >= 0 ? canonicalNames.get(entrySkills.get(fuzzy)) : display;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> canonicalizeAll(Collection<String> raw) {
+        List<String> results = new ArrayList<>();
+        for (String value : raw) {
+            String canonical = canonicalize(value);
+            if (!canonical.isEmpty() && !results.contains(canonical)) {
+                results.add(canonical);
+            }
+        }
+        return results;
+    }
+
+    private void addEntry(String key, int skillId) {
+        int entryId = entryKeys.size();
+        entryKeys.add(key);
+        entrySkills.add(skillId);
+        entryIds.put(key, entryId);
+        insertIntoTrie(key, entryId);
+
+        long[] grams = trigrams(key);
+        entryGramCounts.add(grams.length);
+        for (long gram : grams) {
+            gramPostings.computeIfAbsent(gram, g -> new IntList()).add(entryId);
+        }
+    }
+
+    private int findClosestEntry(String key) {
+        long[] grams = trigrams(key);
+        if (grams.length == 0) return -1;
+
+        int[] counts = scratchCounts.get();
+        if (counts.length < entryKeys.size()) {
+            counts = new int[entryKeys.size() * 2];
+            scratchCounts.set(counts);
+        }
+
+        // Count shared trigrams per entry, remembering which counters were touched
+        IntList touched = new IntList();
+        for (long gram : grams) {
+            IntList postings = gramPostings.get(gram);
+            if (postings == null) continue;
+            for (int i = 0; i < postings.size(); i++) {
+                int entry = postings.get(i);
+                if (counts[entry]++ == 0) {
+                    touched.add(entry);
+                }
+            }
+        }
+
+        // Keep the best few candidates by Dice coefficient
+        int[] candidates = new int[MAX_FUZZY_CANDIDATES];
+        double[] candidateScores = new double[MAX_FUZZY_CANDIDATES];
+        int candidateCount = 0;
+        for (int i = 0; i < touched.size(); i++) {
+            int entry = touched.get(i);
+            double dice = 2.0 * counts[entry] / (grams.length + entryGramCounts.get(entry));
+            counts[entry] = 0;
+            if (dice < MIN_CANDIDATE_DICE) continue;
+
+            int pos = candidateCount < MAX_FUZZY_CANDIDATES ? candidateCount++ : MAX_FUZZY_CANDIDATES;
+            while (pos > 0 && candidateScores[pos - 1] < dice) {
+                if (pos < MAX_FUZZY_CANDIDATES) {
+                    candidates[pos] = candidates[pos - 1];
+                    candidateScores[pos] = candidateScores[pos - 1];
+                }
+                pos--;
+            }
+            if (pos < MAX_FUZZY_CANDIDATES) {
+                candidates[pos] = entry;
+                candidateScores[pos] = dice;
+            }
+        }
+
+        // Trigrams only shortlist; accept a candidate when it is a small edit away
+        int maxDistance = Math.max(1, key.length() / 5);
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < candidateCount; i++) {
+            int distance = editDistance(key, entryKeys.get(candidates[i]), maxDistance);
+            if (distance <= maxDistance && distance < bestDistance) {
+                best = candidates[i];
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private void insertIntoTrie(String key, int entryId) {
+        TrieNode node = root;
+        int pos = 0;
+        while (true) {
+            if (pos == key.length()) {
+                node.entries.add(entryId);
+                return;
+            }
+
+            TrieNode child = node.child(key.charAt(pos));
+            if (child == null) {
+                TrieNode leaf = new TrieNode(key.substring(pos));
+                leaf.entries.add(entryId);
+                node.addChild(leaf);
+                return;
+            }
+
+            int common = commonPrefixLength(child.label, key, pos);
+            if (common < child.label.length()) {
+                // Split the edge at the point where the keys diverge
+                TrieNode split = new TrieNode(child.label.substring(0, common));
+                node.replaceChild(child, split);
+                child.label = child.label.substring(common);
+                split.addChild(child);
+                child = split;
+            }
+            node = child;
+            pos += common;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Distinct trigrams of the key padded with one space on each side
+    private static long[] trigrams(String key) {
+        String padded = " " + key + " ";
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        long[] result = new long[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            result[i++] = gram;
+        }
+        return result;
+    }
+
+    // Levenshtein distance with early exit once every cell in a row exceeds the limit
+    private static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) return limit + 1;
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) return limit + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static String clean(String raw) {
+        return raw == null ? "" : raw.trim().replaceAll("\\s+", " ");
+    }
+
+    static String normalize(String cleaned) {
+        return cleaned.toLowerCase(Locale.ROOT);
+    }
+
+    private static class PendingNode {
+        private final String path;
+        private final TrieNode node;
+
+        PendingNode(String path, TrieNode node) {
+            this.path = path;
+            this.node = node;
+        }
+    }
+
+    private static class TrieNode {
+        private String label;
+        private char[] firstChars = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private int childCount;
+        private final IntList entries = new IntList();
+
+        TrieNode(String label) {
+            this.label = label;
+        }
+
+        TrieNode child(char c) {
+            int pos = Arrays.binarySearch(firstChars, 0, childCount, c);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        void addChild(TrieNode child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount * 2);
+                children = Arrays.copyOf(children, capacity);
+                firstChars = Arrays.copyOf(firstChars, capacity);
+            }
+            int pos = -Arrays.binarySearch(firstChars, 0, childCount, child.label.charAt(0)) - 1;
+            System.arraycopy(children, pos, children, pos + 1, childCount - pos);
+            System.arraycopy(firstChars, pos, firstChars, pos + 1, childCount - pos);
+            children[pos] = child;
+            firstChars[pos] = child.label.charAt(0);
+            childCount++;
+        }
+
+        void replaceChild(TrieNode oldChild, TrieNode newChild) {
+            int pos = Arrays.binarySearch(firstChars, 0, childCount, oldChild.label.charAt(0));
+            children[pos] = newChild;
+        }
+    }
+}
+
+// Growable int array used by the indexes to avoid boxing
+class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(4);
+    }
+
+    public IntList(int capacity) {
+        this.values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        values[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int removeLast() {
+        return values[--size];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
+
+// Similarity Match class
+class SimilarityMatch {
+    private String id;
+    private double similarity;
+
+    public SimilarityMatch(String id, double similarity) {
+        this.id = id;
+        this.similarity = similarity;
+    }
+
+    public String getId() { return id; }
+    public double getSimilarity() { return similarity; }
+}
+
+// MinHash Index class
+// Approximate Jaccard nearest neighbours over skill sets. Signatures are split into
+// bands of rows; items sharing any band bucket with the query are the candidates.
+// More bands raise recall, more rows per band raise precision and speed.
+class MinHashIndex {
+    private final int bands;
+    private final int rows;
+    private final int exactScanLimit;
+    private final long[] seeds;
+
+    private final Map<String, Integer> slotsById;
+    private final List<String> idsBySlot;           // null for free slots
+    private final IntList freeSlots;
+    private char[] signatures;                      // 16-bit MinHash values, bands * rows per slot
+    private final BandTable[] bandTables;
+
+    public MinHashIndex() {
+        this(16, 4, 2000);
+    }
+
+    public MinHashIndex(int bands, int rows, int exactScanLimit) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.exactScanLimit = exactScanLimit;
+        this.seeds = new long[bands * rows];
+        Random random = new Random(0x5EEDL);
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        this.slotsById = new HashMap<>();
+        this.idsBySlot = new ArrayList<>();
+        this.freeSlots = new IntList();
+        this.signatures = new char[seeds.length * 64];
+        this.bandTables = new BandTable[bands];
+        for (int b = 0; b < bands; b++) {
+            bandTables[b] = new BandTable();
+        }
+    }
+
+    // Inserting an existing id re-buckets its slot under the new signature. Removed slots are
+    // reused, so the index never holds more slots than its peak number of ids.
+    public synchronized void insert(String id, Collection<String> tokens) {
+        Integer existing = slotsById.get(id);
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            unlink(slot);
+        } else if (freeSlots.size() > 0) {
+            slot = freeSlots.removeLast();
+            idsBySlot.set(slot, id);
+            slotsById.put(id, slot);
+        } else {
+            slot = idsBySlot.size();
+            idsBySlot.add(id);
+            slotsById.put(id, slot);
+        }
+
+        int width = seeds.length;
+        if ((slot + 1) * width > signatures.length) {
+            signatures = Arrays.copyOf(signatures, Math.max(signatures.length * 2, (slot + 1) * width));
+        }
+        char[] signature = signature(tokens);
+        System.arraycopy(signature, 0, signatures, slot * width, width);
+        for (int b = 0; b < bands; b++) {
+            bandTables[b].add(bandKey(signatures, slot * width, b), slot);
+        }
+    }
+
+    public synchronized void remove(String id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            unlink(slot);
+            idsBySlot.set(slot, null);
+            freeSlots.add(slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        for (int b = 0; b < bands; b++) {
+            bandTables[b].remove(bandKey(signatures, slot * seeds.length, b), slot);
+        }
+    }
+
+    public synchronized int size() {
+        return slotsById.size();
+    }
+
+    // Most similar items to the token set, best first; excludeId is skipped (usually the query itself)
+    public synchronized List<SimilarityMatch> query(Collection<String> tokens, int limit, double minSimilarity,
+                                                    String excludeId) {
+        char[] signature = signature(tokens);
+        List<SimilarityMatch> matches = new ArrayList<>();
+
+        if (slotsById.size() <= exactScanLimit) {
+            // Small indexes are cheaper to scan than to miss low-similarity neighbours
+            for (int slot : slotsById.values()) {
+                addMatch(signature, slot, minSimilarity, excludeId, matches);
+            }
+        } else {
+            BitSet seen = new BitSet();
+            for (int b = 0; b < bands; b++) {
+                BandTable table = bandTables[b];
+                for (int slot = table.head(bandKey(signature, 0, b)); slot >= 0; slot = table.next(slot)) {
+                    if (!seen.get(slot)) {
+                        seen.set(slot);
+                        addMatch(signature, slot, minSimilarity, excludeId, matches);
+                    }
+                }
+            }
+        }
+
+        matches.sort((m1, m2) -> Double.compare(m2.getSimilarity(), m1.getSimilarity()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void addMatch(char[] signature, int slot, double minSimilarity, String excludeId,
+                          List<SimilarityMatch> matches) {
+        String id = idsBySlot.get(slot);
+        if (id.equals(excludeId)) return;
+
+        int width = seeds.length;
+        int offset = slot * width;
+        int equal = 0;
+        for (int i = 0; i < width; i++) {
+            if (signatures[offset + i] == signature[i]) equal++;
+        }
+        double similarity = (double) equal / width;
+        if (similarity >= minSimilarity) {
+            matches.add(new SimilarityMatch(id, similarity));
+        }
+    }
+
+    private char[] signature(Collection<String> tokens) {
+        long[] minimums = new long[seeds.length];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (String token : tokens) {
+            long base = SkillIndex.normalize(SkillIndex.clean(token)).hashCode() * 0x9E3779B97F4A7C15L;
+            for (int i = 0; i < seeds.length; i++) {
+                long h = mix(base ^ seeds[i]);
+                if (h < minimums[i]) minimums[i] = h;
+            }
+        }
+        char[] signature = new char[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            signature[i] = (char) (minimums[i] >>> 48);
+        }
+        return signature;
+    }
+
+    // Key of one band of the signature starting at offset
+    private int bandKey(char[] signature, int offset, int band) {
+        int h = band * 0x61C88647;
+        for (int r = 0; r < rows; r++) {
+            h = h * 31 + signature[offset + band * rows + r];
+        }
+        return h;
+    }
+
+    // SplitMix64 finalizer; drops the sign bit so values order as unsigned
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> 1;
+    }
+
+    // Open-addressing table from band key to a chain of slots threaded through next[] and prev[].
+    // Keys whose chain has emptied stay in the table until they outnumber the live ones.
+    private static class BandTable {
+        private int[] keys = new int[64];
+        private int[] heads = new int[64];
+        private boolean[] used = new boolean[64];
+        private int count;
+        private int emptyCount;
+        private final IntList next = new IntList(64);
+        private final IntList prev = new IntList(64);
+
+        void add(int key, int slot) {
+            if (count * 2 >= keys.length) grow();
+            int pos = find(key);
+            if (!used[pos]) {
+                used[pos] = true;
+                keys[pos] = key;
+                heads[pos] = -1;
+                count++;
+            } else if (heads[pos] < 0) {
+                emptyCount--;
+            }
+            while (next.size() <= slot) {
+                next.add(-1);
+                prev.add(-1);
+            }
+            next.set(slot, heads[pos]);
+            prev.set(slot, -1);
+            if (heads[pos] >= 0) {
+                prev.set(heads[pos], slot);
+            }
+            heads[pos] = slot;
+        }
+
+        void remove(int key, int slot) {
+            int before = prev.get(slot);
+            int after = next.get(slot);
+            if (before >= 0) {
+                next.set(before, after);
+            } else {
+                int pos = find(key);
+                heads[pos] = after;
+                if (after < 0 && ++emptyCount * 2 > count && count > 64) {
+                    dropEmptyKeys();
+                }
+            }
+            if (after >= 0) {
+                prev.set(after, before);
+            }
+        }
+
+        int head(int key) {
+            int pos = find(key);
+            return used[pos] ? heads[pos] : -1;
+        }
+
+        int next(int slot) {
+            return next.get(slot);
+        }
+
+        private int find(int key) {
+            int mask = keys.length - 1;
+            int pos = (key * 0x9E3779B9) >>> 1 & mask;
+            while (used[pos] && keys[pos] != key) {
+                pos = (pos + 1) & mask;
+            }
+            return pos;
+        }
+
+        private void grow() {
+            rehash(keys.length * 2);
+        }
+
+        private void dropEmptyKeys() {
+            rehash(keys.length);
+        }
+
+        // Keeps only keys with a non-empty chain
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+            boolean[] oldUsed = used;
+            keys = new int[capacity];
+            heads = new int[capacity];
+            used = new boolean[capacity];
+            count = 0;
+            emptyCount = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i] && oldHeads[i] >= 0) {
+                    count++;
+                    int pos = find(oldKeys[i]);
+                    used[pos] = true;
+                    keys[pos] = oldKeys[i];
+                    heads[pos] = oldHeads[i];
+                }
+            }
+        }
+    }
+}
+
+// Collaborative Recommender class
+// Item-item co-occurrence model: C[i][j] counts users who interacted with both careers i and j.
+// The matrix is kept in CSR form and new co-occurrences are buffered per row until the
+// buffer is large enough to be merged in one pass.
+class CollaborativeRecommender {
+    private static final int MIN_COMPACTION_THRESHOLD = 4096;
+
+    private final Map<String, Integer> careerIndexes;
+    private final List<String> careerIds;
+    private final Map<String, IntList> userItems;
+    private final IntList itemUserCounts;
+
+    // CSR snapshot: row i spans columns/values[rowOffsets[i] .. rowOffsets[i + 1])
+    private int[] rowOffsets;
+    private int[] columns;
+    private int[] values;
+
+    private final Map<Integer, Map<Integer, Integer>> pendingRows;
+    private int pendingCount;
+    private final ReentrantReadWriteLock lock;
+
+    public CollaborativeRecommender() {
+        this.careerIndexes = new HashMap<>();
+        this.careerIds = new ArrayList<>();
+        this.userItems = new HashMap<>();
+        this.itemUserCounts = new IntList();
+        this.rowOffsets = new int[1];
+        this.columns = new int[0];
+        this.values = new int[0];
+        this.pendingRows = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    // Repeated interactions between the same user and career count once
+    public void recordInteraction(String userId, String careerId) {
+        lock.writeLock().lock();
+        try {
+            int item = careerIndexes.computeIfAbsent(careerId, id -> {
+                careerIds.add(id);
+                itemUserCounts.add(0);
+                return careerIds.size() - 1;
+            });
+
+            IntList items = userItems.computeIfAbsent(userId, id -> new IntList(2));
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) == item) return;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                int other = items.get(i);
+                addPending(item, other);
+                addPending(other, item);
+            }
+            items.add(item);
+            itemUserCounts.set(item, itemUserCounts.get(item) + 1);
+
+            if (pendingCount > Math.max(MIN_COMPACTION_THRESHOLD, columns.length / 8)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean hasInteractions(String userId) {
+        lock.readLock().lock();
+        try {
+            return userItems.containsKey(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getUserCount() {
+        lock.readLock().lock();
+        try {
+            return userItems.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mean cosine item-item similarity between each co-occurring career and the user's own, so a
+    // score is in [0, 1] on the same scale for every user; the user's own careers are left out so
+    // an interaction never scores the career it was on
+    public Map<String, Double> scoreCareers(String userId) {
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = new HashMap<>();
+            IntList items = userItems.get(userId);
+            if (items == null || items.size() == 0) return scores;
+
+            // Sparse dot product of the user's interaction vector with each matrix row
+            double[] accumulated = new double[careerIds.size()];
+            boolean[] own = new boolean[careerIds.size()];
+            IntList touched = new IntList();
+            for (int k = 0; k < items.size(); k++) {
+                own[items.get(k)] = true;
+            }
+            for (int k = 0; k < items.size(); k++) {
+                int item = items.get(k);
+                double itemNorm = Math.sqrt(itemUserCounts.get(item));
+                if (item + 1 < rowOffsets.length) {
+                    for (int p = rowOffsets[item]; p < rowOffsets[item + 1]; p++) {
+                        accumulate(accumulated, touched, columns[p], values[p] / itemNorm);
+                    }
+                }
+                Map<Integer, Integer> pending = pendingRows.get(item);
+                if (pending != null) {
+                    for (Map.Entry<Integer, Integer> entry : pending.entrySet()) {
+                        accumulate(accumulated, touched, entry.getKey(), entry.getValue() / itemNorm);
+                    }
+                }
+            }
+
+            for (int i = 0; i < touched.size(); i++) {
+                int column = touched.get(i);
+                if (!own[column]) {
+                    scores.put(careerIds.get(column),
+                            accumulated[column] / Math.sqrt(itemUserCounts.get(column)) / items.size());
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Top-N careers the user has not interacted with yet
+    public List<SimilarityMatch> recommend(String userId, int limit) {
+        Map<String, Double> scores = scoreCareers(userId);
+        List<SimilarityMatch> matches = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            matches.add(new SimilarityMatch(entry.getKey(), entry.getValue()));
+        }
+        matches.sort((m1, m2) -> Double.compare(m2.getSimilarity(), m1.getSimilarity()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private static void accumulate(double[] accumulated, IntList touched, int column, double value) {
+        if (accumulated[column] == 0) {
+            touched.add(column);
+        }
+        accumulated[column] += value;
+    }
+
+    private void addPending(int row, int column) {
+        Integer previous = pendingRows.computeIfAbsent(row, r -> new HashMap<>()).merge(column, 1, Integer::sum);
+        if (previous == 1) {
+            pendingCount++;
+        }
+    }
+
+    // Merges buffered co-occurrences into a new CSR snapshot; rows stay sorted by column
+    private void compact() {
+        int rowCount = careerIds.size();
+        int[] newOffsets = new int[rowCount + 1];
+        IntList newColumns = new IntList(columns.length + pendingCount);
+        IntList newValues = new IntList(columns.length + pendingCount);
+
+        for (int row = 0; row < rowCount; row++) {
+            newOffsets[row] = newColumns.size();
+            int p = row + 1 < rowOffsets.length ? rowOffsets[row] : 0;
+            int end = row + 1 < rowOffsets.length ? rowOffsets[row + 1] : 0;
+
+            Map<Integer, Integer> pending = pendingRows.get(row);
+            int[] pendingColumns = new int[0];
+            if (pending != null) {
+                pendingColumns = new int[pending.size()];
+                int i = 0;
+                for (Integer column : pending.keySet()) {
+                    pendingColumns[i++] = column;
+                }
+                Arrays.sort(pendingColumns);
+            }
+
+            int q = 0;
+            while (p < end || q < pendingColumns.length) {
+                if (q == pendingColumns.length || (p < end && columns[p] < pendingColumns[q])) {
+                    newColumns.add(columns[p]);
+                    newValues.add(values[p++]);
+                } else if (p == end || pendingColumns[q] < columns[p]) {
+                    newColumns.add(pendingColumns[q]);
+                    newValues.add(pending.get(pendingColumns[q++]));
+                } else {
+                    newColumns.add(columns[p]);
+                    newValues.add(values[p++] + pending.get(pendingColumns[q++]));
+                }
+            }
+        }
+        newOffsets[rowCount] = newColumns.size();
+
+        rowOffsets = newOffsets;
+        columns = newColumns.toArray();
+        values = newValues.toArray();
+        pendingRows.clear();
+        pendingCount = 0;
+    }
+}
+
+// CSV Record Reader class
+// Reads RFC 4180 style records one at a time; quoted fields may contain commas, quotes and newlines.
+class CsvRecordReader implements Closeable {
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private long recordNumber;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[64 * 1024];
+    }
+
+    // Returns null at end of input
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAnything = false;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!sawAnything) return null;
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                }
+                fields.add(field.toString());
+                recordNumber++;
+                return fields;
+            }
+            sawAnything = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    int next = peek();
+                    if (next == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                recordNumber++;
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
+
+// User Recommendation Report class
+class UserRecommendationReport {
+    private User user;
+    private List<CareerPath> recommendations;
+    private List<LearningPath> learningPaths;
+
+    public UserRecommendationReport(User user, List<CareerPath> recommendations, List<LearningPath> learningPaths) {
+        this.user = user;
+        this.recommendations = recommendations;
+        this.learningPaths = learningPaths;
+    }
+
+    // Getters
+    public User getUser() { return user; }
+    public List<CareerPath> getRecommendations() { return recommendations; }
+    public List<LearningPath> getLearningPaths() { return learningPaths; }
+}
+
+// Recommendation Report Writer interface
+interface RecommendationReportWriter extends Closeable {
+    void write(UserRecommendationReport report) throws IOException;
+
+    // Columnar binary for .crx files, CSV otherwise
+    static RecommendationReportWriter forFile(File file) throws IOException {
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(".crx")) {
+            return new ColumnarReportWriter(file.toPath());
+        }
+        return new CsvRecommendationReportWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+    }
+}
+
+// CSV Recommendation Report Writer class
+// One row per recommended career with the learning path summary for that career.
+class CsvRecommendationReportWriter implements RecommendationReportWriter {
+    private final Writer writer;
+
+    public CsvRecommendationReportWriter(Writer writer) throws IOException {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, 256 * 1024);
+        this.writer.write("user_id,rank,career_id,career_name,match_score,skills_to_develop,planned_hours,estimated_weeks\n");
+    }
+
+    @Override
+    public void write(UserRecommendationReport report) throws IOException {
+        List<CareerPath> recommendations = report.getRecommendations();
+        for (int i = 0; i < recommendations.size(); i++) {
+            CareerPath career = recommendations.get(i);
+            LearningPath path = report.getLearningPaths().get(i);
+
+            writer.write(escape(report.getUser().getId()));
+            writer.write(',');
+            writer.write(Integer.toString(i + 1));
+            writer.write(',');
+            writer.write(escape(career.getId()));
+            writer.write(',');
+            writer.write(escape(career.getName()));
+            writer.write(',');
+            writer.write(String.format(Locale.ROOT, "%.1f", career.getMatchScore()));
+            writer.write(',');
+            writer.write(escape(String.join(";", path.getSkillsToDevelop())));
+            writer.write(',');
+            writer.write(Integer.toString(path.getTotalHours()));
+            writer.write(',');
+            writer.write(Integer.toString(path.getEstimatedDuration()));
+            writer.write('\n');
+        }
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
+
+// Columnar Report Writer class
+// Compact binary form of the recommendation report for analytics. Rows are buffered into
+// row groups and each column is written as one contiguous little-endian chunk:
+//   file:       magic "CRXC", version, row groups..., end marker (row count 0), total rows (int64)
+//   row group:  row count, gap bytes, then user / career / skill dictionary additions, then
+//               user id (int32), career id (int32), rank (int8), match score (float32),
+//               planned hours (int32), estimated weeks (int16), gap offsets (int32 x rows + 1),
+//               gap skill ids (varint bytes)
+// Ids index dictionaries that grow across row groups; each group carries only its new entries.
+// A row's gap skills are the bytes from its gap offset to the next one: skill ids in ascending
+// order, each a varint of its difference from the previous id, so a row costs about a byte per
+// gap skill however large the skill dictionary grows.
+// A dictionary block is: count, count + 1 byte offsets, then the UTF-8 bytes. Every block and
+// column chunk is padded to 8 bytes. Users get a new id per report, so their dictionary needs
+// no lookup table. Column buffers are direct and go to the channel in one gathering write.
+class ColumnarReportWriter implements RecommendationReportWriter {
+    static final int MAGIC = 0x43585243; // "CRXC" read little-endian
+    static final int VERSION = 2;
+    static final int DEFAULT_ROW_GROUP_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final int rowGroupSize;
+    private final Map<String, Integer> careerIds;
+    private final Map<String, Integer> skillIds;
+    private final List<String> newUsers;
+    private final List<String> newCareers;
+    private final List<String> newSkills;
+    private int userCount;
+    private long totalRows;
+
+    private final ByteBuffer users;
+    private final ByteBuffer careers;
+    private final ByteBuffer ranks;
+    private final ByteBuffer scores;
+    private final ByteBuffer plannedHours;
+    private final ByteBuffer estimatedWeeks;
+    private final ByteBuffer gapOffsets;
+    private ByteBuffer gaps;
+
+    // Gap skill ids of the buffered rows; row i owns gapSkills[gapEnds[i - 1], gapEnds[i])
+    private final IntList gapSkills;
+    private final int[] gapEnds;
+    private int rows;
+
+    public ColumnarReportWriter(Path path) throws IOException {
+        this(path, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarReportWriter(Path path, int rowGroupSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.rowGroupSize = rowGroupSize;
+        this.careerIds = new HashMap<>();
+        this.skillIds = new HashMap<>();
+        this.newUsers = new ArrayList<>();
+        this.newCareers = new ArrayList<>();
+        this.newSkills = new ArrayList<>();
+        this.users = column(rowGroupSize * 4);
+        this.careers = column(rowGroupSize * 4);
+        this.ranks = column(rowGroupSize);
+        this.scores = column(rowGroupSize * 4);
+        this.plannedHours = column(rowGroupSize * 4);
+        this.estimatedWeeks = column(rowGroupSize * 2);
+        this.gapOffsets = column((rowGroupSize + 1) * 4);
+        this.gaps = column(rowGroupSize * 2);
+        this.gapSkills = new IntList();
+        this.gapEnds = new int[rowGroupSize];
+
+        ByteBuffer header = column(8);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        writeFully(header);
+    }
+
+    @Override
+    public void write(UserRecommendationReport report) throws IOException {
+        List<CareerPath> recommendations = report.getRecommendations();
+        if (recommendations.isEmpty()) return;
+
+        if (rows + recommendations.size() > rowGroupSize && rows > 0) {
+            flush();
+        }
+        int user = userCount++;
+        newUsers.add(report.getUser().getId());
+
+        for (int i = 0; i < recommendations.size(); i++) {
+            if (rows == rowGroupSize) {
+                // A report longer than a row group continues under a fresh user id in the next group
+                flush();
+                user = userCount++;
+                newUsers.add(report.getUser().getId());
+            }
+            CareerPath career = recommendations.get(i);
+            LearningPath path = report.getLearningPaths().get(i);
+
+            users.putInt(user);
+            careers.putInt(dictionaryId(careerIds, newCareers, career.getId()));
+            ranks.put((byte) Math.min(i + 1, Byte.MAX_VALUE));
+            scores.putFloat((float) career.getMatchScore());
+            plannedHours.putInt(path.getTotalHours());
+            estimatedWeeks.putShort((short) Math.min(path.getEstimatedDuration(), Short.MAX_VALUE));
+            for (String skill : path.getSkillsToDevelop()) {
+                gapSkills.add(dictionaryId(skillIds, newSkills, skill));
+            }
+            gapEnds[rows++] = gapSkills.size();
+        }
+    }
+
+    public long getRowCount() {
+        return totalRows + rows;
+    }
+
+    private static int dictionaryId(Map<String, Integer> ids, List<String> added, String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = ids.size();
+            ids.put(value, id);
+            added.add(value);
+        }
+        return id;
+    }
+
+    private void flush() throws IOException {
+        if (rows == 0) return;
+
+        gaps.clear();
+        gapOffsets.putInt(0);
+        int start = 0;
+        for (int row = 0; row < rows; row++) {
+            int[] skills = new int[gapEnds[row] - start];
+            for (int i = 0; i < skills.length; i++) {
+                skills[i] = gapSkills.get(start + i);
+            }
+            Arrays.sort(skills);
+            int previous = 0;
+            for (int i = 0; i < skills.length; i++) {
+                if (i > 0 && skills[i] == previous) continue;
+                putGapDelta(skills[i] - previous);
+                previous = skills[i];
+            }
+            gapOffsets.putInt(gaps.position());
+            start = gapEnds[row];
+        }
+
+        ByteBuffer header = column(8);
+        header.putInt(rows).putInt(gaps.position()).flip();
+        ByteBuffer[] chunks = {
+                header, dictionary(newUsers), dictionary(newCareers), dictionary(newSkills),
+                padded(users), padded(careers), padded(ranks), padded(scores),
+                padded(plannedHours), padded(estimatedWeeks), padded(gapOffsets), padded(gaps)
+        };
+        writeFully(chunks);
+
+        totalRows += rows;
+        rows = 0;
+        gapSkills.clear();
+        newUsers.clear();
+        newCareers.clear();
+        newSkills.clear();
+        for (ByteBuffer buffer : new ByteBuffer[]{users, careers, ranks, scores, plannedHours, estimatedWeeks,
+                gapOffsets}) {
+            buffer.clear();
+        }
+    }
+
+    // Appends one varint, leaving room for the padding added at flush
+    private void putGapDelta(int delta) {
+        if (gaps.remaining() < 5 + 8) {
+            ByteBuffer grown = column(gaps.capacity() * 2);
+            grown.put(gaps.flip());
+            gaps = grown;
+        }
+        while ((delta & ~0x7F) != 0) {
+            gaps.put((byte) ((delta & 0x7F) | 0x80));
+            delta >>>= 7;
+        }
+        gaps.put((byte) delta);
+    }
+
+    // Flips a filled column for writing, extending it with zeros to a multiple of 8 bytes
+    private static ByteBuffer padded(ByteBuffer column) {
+        while (column.position() % 8 != 0) {
+            column.put((byte) 0);
+        }
+        return column.flip();
+    }
+
+    private static ByteBuffer dictionary(List<String> values) {
+        byte[][] encoded = new byte[values.size()][];
+        int bytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+            bytes += encoded[i].length;
+        }
+        ByteBuffer block = ByteBuffer.allocate(((4 + 4 * (encoded.length + 1) + bytes + 7) / 8) * 8)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        block.putInt(encoded.length);
+        int offset = 0;
+        block.putInt(offset);
+        for (byte[] value : encoded) {
+            offset += value.length;
+            block.putInt(offset);
+        }
+        for (byte[] value : encoded) {
+            block.put(value);
+        }
+        block.position(block.capacity());
+        return block.flip();
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private static ByteBuffer column(int capacity) {
+        return ByteBuffer.allocateDirect(capacity + 8).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer trailer = column(16);
+            trailer.putInt(0).putInt(0).putLong(totalRows).flip();
+            writeFully(trailer);
+        } finally {
+            channel.close();
+        }
+    }
+}
+
+// Columnar Report Reader class
+// Memory-maps a file written by ColumnarReportWriter and reads columns in place.
+// Only row group offsets and the career and skill dictionaries are held on the heap.
+class ColumnarReportReader implements Closeable {
+    private final MappedFile file;
+    private final List<RowGroup> groups;
+    private final long[] groupStarts;
+    private final List<String> careerDictionary;
+    private final List<String> skillDictionary;
+    private final long rowCount;
+
+    public ColumnarReportReader(Path path) throws IOException {
+        this.file = new MappedFile(path);
+        this.groups = new ArrayList<>();
+        this.careerDictionary = new ArrayList<>();
+        this.skillDictionary = new ArrayList<>();
+
+        try {
+            if (file.size() < 8 || file.getInt(0) != ColumnarReportWriter.MAGIC) {
+                throw new IOException("Not a columnar recommendation report: " + path);
+            }
+            if (file.getInt(4) != ColumnarReportWriter.VERSION) {
+                throw new IOException("Unsupported report version " + file.getInt(4) + ": " + path);
+            }
+
+            long offset = 8;
+            long rowsSoFar = 0;
+            int usersSoFar = 0;
+            while (true) {
+                int rows = file.getInt(offset);
+                int gapBytes = file.getInt(offset + 4);
+                offset += 8;
+                if (rows == 0) break;
+
+                RowGroup group = new RowGroup();
+                group.firstRow = rowsSoFar;
+                group.rows = rows;
+                group.firstUser = usersSoFar;
+                group.userDictionary = offset;
+                usersSoFar += file.getInt(offset);
+                offset = skipDictionary(offset);
+                offset = readDictionary(offset, careerDictionary);
+                offset = readDictionary(offset, skillDictionary);
+                group.users = offset;
+                group.careers = group.users + pad(rows * 4L);
+                group.ranks = group.careers + pad(rows * 4L);
+                group.scores = group.ranks + pad(rows);
+                group.plannedHours = group.scores + pad(rows * 4L);
+                group.estimatedWeeks = group.plannedHours + pad(rows * 4L);
+                group.gapOffsets = group.estimatedWeeks + pad(rows * 2L);
+                group.gapIds = group.gapOffsets + pad((rows + 1) * 4L);
+                offset = group.gapIds + pad(gapBytes);
+
+                groups.add(group);
+                rowsSoFar += rows;
+            }
+            this.rowCount = rowsSoFar;
+            if (file.getLong(offset) != rowCount) {
+                throw new IOException("Truncated or corrupt report: " + path);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated or corrupt report: " + path, e);
+        }
+
+        this.groupStarts = new long[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            groupStarts[i] = groups.get(i).firstRow;
+        }
+    }
+
+    public long getRowCount() { return rowCount; }
+    public int getRowGroupCount() { return groups.size(); }
+    public List<String> getCareerDictionary() { return Collections.unmodifiableList(careerDictionary); }
+    public List<String> getSkillDictionary() { return Collections.unmodifiableList(skillDictionary); }
+
+    public String getUserId(long row) {
+        RowGroup group = group(row);
+        int user = file.getInt(group.users + 4L * (row - group.firstRow));
+        return dictionaryEntry(group.userDictionary, user - group.firstUser);
+    }
+
+    public int getCareerIndex(long row) {
+        RowGroup group = group(row);
+        return file.getInt(group.careers + 4L * (row - group.firstRow));
+    }
+
+    public String getCareerId(long row) {
+        return careerDictionary.get(getCareerIndex(row));
+    }
+
+    public int getRank(long row) {
+        RowGroup group = group(row);
+        return file.getByte(group.ranks + (row - group.firstRow));
+    }
+
+    public float getScore(long row) {
+        RowGroup group = group(row);
+        return file.getFloat(group.scores + 4L * (row - group.firstRow));
+    }
+
+    public int getPlannedHours(long row) {
+        RowGroup group = group(row);
+        return file.getInt(group.plannedHours + 4L * (row - group.firstRow));
+    }
+
+    public int getEstimatedWeeks(long row) {
+        RowGroup group = group(row);
+        return file.getShort(group.estimatedWeeks + 2L * (row - group.firstRow));
+    }
+
+    // skillIndex is a position in getSkillDictionary()
+    public boolean hasGap(long row, int skillIndex) {
+        RowGroup group = group(row);
+        return Arrays.binarySearch(gapIndexes(group, (int) (row - group.firstRow)), skillIndex) >= 0;
+    }
+
+    public List<String> getGapSkills(long row) {
+        RowGroup group = group(row);
+        List<String> skills = new ArrayList<>();
+        for (int skill : gapIndexes(group, (int) (row - group.firstRow))) {
+            skills.add(skillDictionary.get(skill));
+        }
+        return skills;
+    }
+
+    // Column scans for analytics; visit each value in row order without per-row lookups
+    public void scanScores(ScoreVisitor visitor) {
+        for (RowGroup group : groups) {
+            for (int i = 0; i < group.rows; i++) {
+                visitor.visit(group.firstRow + i,
+                        file.getInt(group.careers + 4L * i), file.getFloat(group.scores + 4L * i));
+            }
+        }
+    }
+
+    // Rows per skill gap, indexed like getSkillDictionary()
+    public long[] countGaps() {
+        long[] counts = new long[skillDictionary.size()];
+        for (RowGroup group : groups) {
+            long position = group.gapIds;
+            for (int i = 0; i < group.rows; i++) {
+                long end = group.gapIds + file.getInt(group.gapOffsets + 4L * (i + 1));
+                int skill = 0;
+                while (position < end) {
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = file.getByte(position++);
+                        skill += (b & 0x7F) << shift;
+                        if (b >= 0) break;
+                    }
+                    counts[skill]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    // Gap skill ids of the group's index-th row, ascending
+    private int[] gapIndexes(RowGroup group, int index) {
+        long position = group.gapIds + file.getInt(group.gapOffsets + 4L * index);
+        long end = group.gapIds + file.getInt(group.gapOffsets + 4L * (index + 1));
+        IntList skills = new IntList();
+        int skill = 0;
+        while (position < end) {
+            for (int shift = 0; ; shift += 7) {
+                byte b = file.getByte(position++);
+                skill += (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            skills.add(skill);
+        }
+        return skills.toArray();
+    }
+
+    private RowGroup group(long row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rowCount);
+        }
+        int index = Arrays.binarySearch(groupStarts, row);
+        return groups.get(index >= 0 ? index : -index - 2);
+    }
+
+    private String dictionaryEntry(long block, int index) {
+        int count = file.getInt(block);
+        int start = file.getInt(block + 4 + 4L * index);
+        int end = file.getInt(block + 8 + 4L * index);
+        long bytes = block + 4 + 4L * (count + 1);
+        byte[] value = file.getBytes(bytes + start, end - start);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private long readDictionary(long block, List<String> dictionary) {
+        int count = file.getInt(block);
+        for (int i = 0; i < count; i++) {
+            dictionary.add(dictionaryEntry(block, i));
+        }
+        return skipDictionary(block);
+    }
+
+    private long skipDictionary(long block) {
+        int count = file.getInt(block);
+        int bytes = file.getInt(block + 4 + 4L * count);
+        return block + pad(4 + 4L * (count + 1) + bytes);
+    }
+
+    private static long pad(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    // Mappings are released when the GC collects them; there is no explicit unmap
+    @Override
+    public void close() {
+        file.close();
+    }
+
+    interface ScoreVisitor {
+        void visit(long row, int careerIndex, float score);
+    }
+
+    // A read-only file mapped as overlapping chunks, since one buffer maps at most 2 GB.
+    // Chunks start every CHUNK_STRIDE bytes and run OVERLAP bytes into the next one, so any
+    // read shorter than OVERLAP lies inside the chunk its first byte belongs to.
+    private static class MappedFile {
+        private static final long CHUNK_STRIDE = 1L << 30;
+        private static final long OVERLAP = 1L << 24;
+
+        private final long size;
+        private MappedByteBuffer[] chunks;
+
+        MappedFile(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                this.size = channel.size();
+                this.chunks = new MappedByteBuffer[(int) Math.max(1, (size + CHUNK_STRIDE - 1) / CHUNK_STRIDE)];
+                for (int i = 0; i < chunks.length; i++) {
+                    long start = i * CHUNK_STRIDE;
+                    long length = Math.min(size - start, CHUNK_STRIDE + OVERLAP);
+                    chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(0, length));
+                    chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+        }
+
+        long size() { return size; }
+        byte getByte(long offset) { return chunk(offset).get(local(offset)); }
+        short getShort(long offset) { return chunk(offset).getShort(local(offset)); }
+        int getInt(long offset) { return chunk(offset).getInt(local(offset)); }
+        long getLong(long offset) { return chunk(offset).getLong(local(offset)); }
+        float getFloat(long offset) { return chunk(offset).getFloat(local(offset)); }
+
+        byte[] getBytes(long offset, int length) {
+            byte[] value = new byte[length];
+            chunk(offset).get(local(offset), value);
+            return value;
+        }
+
+        void close() {
+            chunks = new MappedByteBuffer[0];
+        }
+
+        private MappedByteBuffer chunk(long offset) {
+            if (offset < 0 || offset >= size) {
+                throw new IndexOutOfBoundsException("Offset " + offset + " of " + size);
+            }
+            return chunks[(int) (offset / CHUNK_STRIDE)];
+        }
+
+        private static int local(long offset) {
+            return (int) (offset % CHUNK_STRIDE);
+        }
+    }
+
+    private static class RowGroup {
+        private long firstRow;
+        private int rows;
+        private int firstUser;
+        private long userDictionary;
+        private long users;
+        private long careers;
+        private long ranks;
+        private long scores;
+        private long plannedHours;
+        private long estimatedWeeks;
+        private long gapOffsets;
+        private long gapIds;
+    }
+}
+
+// Bulk Profile Importer class
+// Streams a profile CSV through a parse -> score -> write pipeline. Stages are joined by
+// bounded queues, so memory use depends on queue capacity rather than file size.
+// Expected columns (by header name): id, name, email, skills, interests, experience.
+// Skills are "Skill:level" entries separated by ';' (level defaults to 3); interests are ';' separated.
+class BulkProfileImporter {
+    private static final List<String> END_OF_INPUT = new ArrayList<>();
+    private static final UserRecommendationReport END_OF_REPORTS = new UserRecommendationReport(null, null, null);
+    // Lower-case spellings seen in exported profiles, by the level the recommender scores
+    private static final Map<String, String> EXPERIENCE_SYNONYMS = new HashMap<>();
+
+    static {
+        for (String level : User.EXPERIENCE_LEVELS) {
+            EXPERIENCE_SYNONYMS.put(level.toLowerCase(Locale.ROOT), level);
+        }
+        for (String synonym : Arrays.asList("entry", "junior", "novice", "trainee")) {
+            EXPERIENCE_SYNONYMS.put(synonym, User.BEGINNER);
+        }
+        for (String synonym : Arrays.asList("mid", "middle", "associate")) {
+            EXPERIENCE_SYNONYMS.put(synonym, User.INTERMEDIATE);
+        }
+        for (String synonym : Arrays.asList("senior", "advanced", "lead", "principal")) {
+            EXPERIENCE_SYNONYMS.put(synonym, User.EXPERT);
+        }
+    }
+
+    private final CareerAdvisor advisor;
+    private final int workerThreads;
+    private final int queueCapacity;
+    private final boolean retainProfiles;
+
+    public BulkProfileImporter(CareerAdvisor advisor) {
+        this(advisor, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 1024, true);
+    }
+
+    public BulkProfileImporter(CareerAdvisor advisor, int workerThreads, int queueCapacity, boolean retainProfiles) {
+        this.advisor = advisor;
+        this.workerThreads = workerThreads;
+        this.queueCapacity = queueCapacity;
+        this.retainProfiles = retainProfiles;
+    }
+
+    public ImportSummary importProfiles(Reader input, RecommendationReportWriter report, int topN)
+            throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        CsvRecordReader reader = new CsvRecordReader(input);
+        Map<String, Integer> columns = readHeader(reader.readRecord());
+
+        // Room for one end marker per worker on top of in-flight rows
+        BlockingQueue<List<String>> records = new ArrayBlockingQueue<>(queueCapacity + workerThreads);
+        BlockingQueue<UserRecommendationReport> reports = new ArrayBlockingQueue<>(queueCapacity + 1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong imported = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicInteger runningWorkers = new AtomicInteger(workerThreads);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < workerThreads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    // After a failure keep draining so the parser never blocks on a full queue
+                    for (List<String> record = records.take(); record != END_OF_INPUT; record = records.take()) {
+                        if (failure.get() != null) continue;
+                        try {
+                            User user = parseUser(record, columns);
+                            if (user == null) {
+                                rejected.incrementAndGet();
+                            } else {
+                                reports.put(score(user, topN));
+                            }
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        reports.offer(END_OF_REPORTS);
+                    }
+                }
+            }, "profile-import-worker-" + i);
+            threads.add(worker);
+        }
+
+        Thread writerThread = new Thread(() -> {
+            try {
+                for (UserRecommendationReport r = reports.take(); r != END_OF_REPORTS; r = reports.take()) {
+                    if (failure.get() != null) continue;
+                    try {
+                        report.write(r);
+                        imported.incrementAndGet();
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, e);
+            }
+        }, "profile-import-writer");
+        threads.add(writerThread);
+
+        for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        long rowsRead = 0;
+        InterruptedException interrupted = null;
+        try {
+            try {
+                // This thread only splits records; field parsing and scoring happen on the workers
+                List<String> record;
+                while (failure.get() == null && (record = reader.readRecord()) != null) {
+                    if (record.size() == 1 && record.get(0).isBlank()) continue;
+                    rowsRead++;
+                    records.put(record);
+                }
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            }
+            for (int i = 0; i < workerThreads; i++) {
+                records.put(END_OF_INPUT);
+            }
+        } catch (InterruptedException e) {
+            // The end markers may never fit, so stop the workers and the writer directly
+            interrupted = e;
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (interrupted != null) throw interrupted;
+
+        Throwable error = failure.get();
+        if (error instanceof IOException) throw (IOException) error;
+        if (error != null) throw new IOException("Profile import failed", error);
+
+        return new ImportSummary(rowsRead, imported.get(), rejected.get(), System.nanoTime() - startNanos);
+    }
+
+    private UserRecommendationReport score(User user, int topN) {
+        if (retainProfiles) {
+            advisor.getProfileManager().saveUserProfile(user);
+        }
+
+        List<CareerPath> recommendations = advisor.recommendCareers(user);
+        if (recommendations.size() > topN) {
+            recommendations = new ArrayList<>(recommendations.subList(0, topN));
+        }
+        List<LearningPath> learningPaths = new ArrayList<>();
+        for (CareerPath career : recommendations) {
+            learningPaths.add(advisor.generateLearningPath(user, career));
+        }
+        return new UserRecommendationReport(user, recommendations, learningPaths);
+    }
+
+    private static Map<String, Integer> readHeader(List<String> header) throws IOException {
+        if (header == null) {
+            throw new IOException("Profile file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("id")) {
+            throw new IOException("Profile file has no 'id' column");
+        }
+        return columns;
+    }
+
+    // Returns null for rows without an id
+    private User parseUser(List<String> record, Map<String, Integer> columns) {
+        String id = field(record, columns, "id");
+        if (id.isEmpty()) return null;
+
+        SkillIndex skillIndex = advisor.getSkillIndex();
+        User user = new User(id, field(record, columns, "name"), field(record, columns, "email"));
+
+        List<String> skills = new ArrayList<>();
+        Map<String, Integer> skillLevels = new HashMap<>();
+        for (String entry : field(record, columns, "skills").split(";")) {
+            int separator = entry.lastIndexOf(':');
+            String name = skillIndex.canonicalize(separator >= 0 ? entry.substring(0, separator) : entry);
+            if (name.isEmpty() || skillLevels.containsKey(name)) continue;
+
+            int level = 3;
+            if (separator >= 0) {
+                try {
+                    level = Math.max(1, Math.min(5, Integer.parseInt(entry.substring(separator + 1).trim())));
+                } catch (NumberFormatException e) {
+                    // Keep the default level for unreadable values
+                }
+            }
+            skills.add(name);
+            skillLevels.put(name, level);
+        }
+        user.setSkills(skills);
+        user.setSkillLevels(skillLevels);
+        user.setInterests(skillIndex.canonicalizeAll(Arrays.asList(field(record, columns, "interests").split(";"))));
+
+        String experience = field(record, columns, "experience");
+        if (!experience.isEmpty()) {
+            String level = experienceLevel(experience);
+            if (level == null) return null; // A level the scorer would not recognize
+            user.setExperienceLevel(level);
+        }
+        return user;
+    }
+
+    // One of User.EXPERIENCE_LEVELS for values like "expert", "Senior" or "Entry level"; null if unknown
+    static String experienceLevel(String value) {
+        String key = value.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_-]*level$", "").trim();
+        return EXPERIENCE_SYNONYMS.get(key);
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
+
+    // Import Summary class
+    static class ImportSummary {
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private long elapsedNanos;
+
+        ImportSummary(long rowsRead, long imported, long rejected, long elapsedNanos) {
+            this.rowsRead = rowsRead;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRowsRead() { return rowsRead; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("Imported %d of %d profiles (%d rejected) in %.1f s (%.0f profiles/s)",
+                    imported, rowsRead, rejected, seconds, seconds > 0 ? imported / seconds : 0);
+        }
+    }
+}
+
+// Single Flight class
+// Concurrent calls with the same key share one in-flight computation instead of repeating it.
+// Results are not cached: once a computation finishes, the next call for that key runs again.
+class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight;
+    private final AtomicLong calls;
+    private final AtomicLong executions;
+    private final AtomicLong coalesced;
+
+    public SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.calls = new AtomicLong();
+        this.executions = new AtomicLong();
+        this.coalesced = new AtomicLong();
+    }
+
+    // The first caller for a key runs the computation on its own thread; later callers wait on its future
+    public CompletableFuture<V> execute(K key, Supplier<V> computation) {
+        calls.incrementAndGet();
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        executions.incrementAndGet();
+        try {
+            leader.complete(computation.get());
+        } catch (Throwable t) {
+            leader.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key, leader);
+        }
+        return leader;
+    }
+
+    public CompletableFuture<V> executeAsync(K key, Supplier<V> computation, Executor executor) {
+        calls.incrementAndGet();
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        executions.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                leader.complete(computation.get());
+            } catch (Throwable t) {
+                leader.completeExceptionally(t);
+            } finally {
+                inFlight.remove(key, leader);
+            }
+        });
+        return leader;
+    }
+
+    public long getCalls() { return calls.get(); }
+    public long getExecutions() { return executions.get(); }
+    public long getCoalesced() { return coalesced.get(); }
+    public int getInFlight() { return inFlight.size(); }
+
+    @Override
+    public String toString() {
+        return String.format("%d calls, %d executed, %d coalesced", getCalls(), getExecutions(), getCoalesced());
+    }
+}
+
+// Off-Heap Int Column class
+// Growable int array in native memory, backed by a direct buffer. A buffer outgrown by a
+// resize is released once the GC finds it unreachable. Holds up to 2^29 values.
+class OffHeapIntColumn {
+    private IntBuffer buffer;
+    private int size;
+
+    public OffHeapIntColumn(long initialCapacity) {
+        this.buffer = allocate(initialCapacity);
+    }
+
+    // Zero-filled native int array
+    static IntBuffer allocate(long count) {
+        if (count > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalArgumentException("Too many values for one column: " + count);
+        }
+        return ByteBuffer.allocateDirect((int) Math.max(1, count) * Integer.BYTES)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    public void add(int value) {
+        if (size == buffer.capacity()) {
+            IntBuffer grown = allocate(buffer.capacity() * 2L);
+            grown.put(0, buffer, 0, size);
+            buffer = grown;
+        }
+        buffer.put(size++, value);
+    }
+
+    public int get(long index) {
+        return buffer.get((int) index);
+    }
+
+    public void set(long index, int value) {
+        buffer.put((int) index, value);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Drops the first count values; the rest move down
+    public void removeFirst(int count) {
+        IntBuffer shifted = allocate(Math.max(16, (size - count) * 2L));
+        shifted.put(0, buffer, count, size - count);
+        buffer = shifted;
+        size -= count;
+    }
+
+    // Direct access for tight loops; valid until the next add()
+    public IntBuffer buffer() {
+        return buffer;
+    }
+}
+
+// Off-Heap String Pool class
+// Interned UTF-8 strings stored back to back in native memory. Ids are dense and assigned
+// in insertion order; lookups go through an off-heap open-addressing table.
+class OffHeapStringPool {
+    private ByteBuffer bytes;
+    private int byteSize;
+    private final OffHeapIntColumn offsets;      // id -> start offset; id + 1 -> end offset
+    private final OffHeapIntColumn hashes;       // id -> hash, kept for rehashing
+    private IntBuffer table;                     // slot -> id + 1, or 0 when empty
+    private int tableSlots;
+
+    public OffHeapStringPool(long expectedStrings) {
+        this.bytes = ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE, Math.max(64, expectedStrings * 16)));
+        this.offsets = new OffHeapIntColumn(expectedStrings + 1);
+        this.offsets.add(0);
+        this.hashes = new OffHeapIntColumn(expectedStrings);
+        this.tableSlots = (int) Long.highestOneBit(Math.max(16, expectedStrings * 2)) * 2;
+        this.table = OffHeapIntColumn.allocate(tableSlots);
+    }
+
+    public int size() {
+        return (int) hashes.size();
+    }
+
+    public int intern(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded);
+        int slot = findSlot(encoded, hash);
+        int existing = table.get(slot);
+        if (existing != 0) return existing - 1;
+
+        int id = size();
+        if ((long) byteSize + encoded.length > bytes.capacity()) {
+            long capacity = Math.max(bytes.capacity() * 2L, (long) byteSize + encoded.length);
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE, capacity));
+            grown.put(0, bytes, 0, byteSize);
+            bytes = grown;
+        }
+        bytes.put(byteSize, encoded);
+        byteSize += encoded.length;
+        offsets.add(byteSize);
+        hashes.add(hash);
+        table.put(slot, id + 1);
+
+        if (size() * 2L > tableSlots) {
+            rehash();
+        }
+        return id;
+    }
+
+    // Id of an interned string, or -1
+    public int find(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        return table.get(findSlot(encoded, hash(encoded))) - 1;
+    }
+
+    public String get(int id) {
+        int start = offsets.get(id);
+        int end = offsets.get(id + 1);
+        byte[] encoded = new byte[end - start];
+        bytes.get(start, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private int findSlot(byte[] encoded, int hash) {
+        ByteBuffer probe = ByteBuffer.wrap(encoded);
+        int mask = tableSlots - 1;
+        int slot = hash & mask;
+        while (true) {
+            int entry = table.get(slot);
+            if (entry == 0) return slot;
+
+            int id = entry - 1;
+            if (hashes.get(id) == hash) {
+                int start = offsets.get(id);
+                int end = offsets.get(id + 1);
+                if (end - start == encoded.length && bytes.slice(start, end - start).equals(probe)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash() {
+        tableSlots *= 2;
+        table = OffHeapIntColumn.allocate(tableSlots);
+        int mask = tableSlots - 1;
+        for (int id = 0; id < size(); id++) {
+            int slot = hashes.get(id) & mask;
+            while (table.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table.put(slot, id + 1);
+        }
+    }
+
+    private static int hash(byte[] encoded) {
+        int h = Arrays.hashCode(encoded) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & Integer.MAX_VALUE;
+    }
+}
+
+// Off-Heap Career Catalog class
+// Struct-of-arrays career storage: one row per career, each field in its own column.
+// Required skills and related roles are flattened into contiguous id arrays addressed
+// through per-row start/end offsets, so scoring walks memory linearly. Replacing a career
+// rewrites its row in place and appends its new skill and role ids; removing one leaves a
+// tombstone. Once most of the id columns are superseded entries, they and the string pool are
+// rewritten with only what live rows use. Every add, replace and remove is recorded in a change
+// log, of which only the recent part is kept.
+// Native columns are direct ByteBuffers: the Foreign Memory API (MemorySegment) this design
+// targets is not available on JDK 17, which the project builds with.
+class OffHeapCareerCatalog {
+    private static final long COMPACT_MIN_DEAD_ENTRIES = 1 << 16;
+    private static final int CHANGE_LOG_MIN_KEPT = 1 << 16;
+
+    private final OffHeapStringPool careerIds;   // pool id == row
+    private final OffHeapStringPool skills;
+    private OffHeapStringPool strings;
+    private final OffHeapIntColumn names;
+    private final OffHeapIntColumn descriptions;
+    private final OffHeapIntColumn growthPotentials;
+    private final OffHeapIntColumn skillStarts;
+    private final OffHeapIntColumn skillEnds;
+    private OffHeapIntColumn skillIds;
+    private final OffHeapIntColumn roleStarts;
+    private final OffHeapIntColumn roleEnds;
+    private OffHeapIntColumn roleIds;
+    private long liveEntries;                    // skill and role ids referenced by live rows
+    private final OffHeapIntColumn rowVersions;  // row -> modification count after its last change
+    private final OffHeapIntColumn changeLog;    // changed rows, oldest first
+    private long changeLogBase;                  // modifications dropped from the front of changeLog
+    private final BitSet removed;
+    private final ReentrantReadWriteLock lock;
+
+    public OffHeapCareerCatalog(int expectedCareers) {
+        this.careerIds = new OffHeapStringPool(expectedCareers);
+        this.skills = new OffHeapStringPool(1024);
+        this.strings = new OffHeapStringPool(expectedCareers * 4L);
+        this.names = new OffHeapIntColumn(expectedCareers);
+        this.descriptions = new OffHeapIntColumn(expectedCareers);
+        this.growthPotentials = new OffHeapIntColumn(expectedCareers);
+        this.skillStarts = new OffHeapIntColumn(expectedCareers);
+        this.skillEnds = new OffHeapIntColumn(expectedCareers);
+        this.skillIds = new OffHeapIntColumn(expectedCareers * 6L);
+        this.roleStarts = new OffHeapIntColumn(expectedCareers);
+        this.roleEnds = new OffHeapIntColumn(expectedCareers);
+        this.roleIds = new OffHeapIntColumn(expectedCareers * 3L);
+        this.rowVersions = new OffHeapIntColumn(expectedCareers);
+        this.changeLog = new OffHeapIntColumn(expectedCareers);
+        this.removed = new BitSet();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    // Returns the new row; career ids must be unique
+    public int add(CareerPath career) {
+        lock.writeLock().lock();
+        try {
+            if (careerIds.find(career.getId()) >= 0) {
+                throw new IllegalArgumentException("Duplicate career id: " + career.getId());
+            }
+            return append(career);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds the career, or replaces the one with the same id (reviving it if removed); returns its row
+    public int put(CareerPath career) {
+        lock.writeLock().lock();
+        try {
+            int row = careerIds.find(career.getId());
+            if (row < 0) {
+                return append(career);
+            }
+            write(row, career);
+            return row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // False if no such career exists
+    public boolean remove(String careerId) {
+        lock.writeLock().lock();
+        try {
+            int row = careerIds.find(careerId);
+            if (row < 0 || removed.get(row)) return false;
+            liveEntries -= rowEntries(row);
+            removed.set(row);
+            logChange(row);
+            compactIfMostlyDead();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int append(CareerPath career) {
+        int row = careerIds.intern(career.getId());
+        for (OffHeapIntColumn column : new OffHeapIntColumn[]{names, descriptions, growthPotentials,
+                skillStarts, skillEnds, roleStarts, roleEnds, rowVersions}) {
+            column.add(0);
+        }
+        write(row, career);
+        return row;
+    }
+
+    // Superseded skill and role ids stay in their columns until the next compaction
+    private void write(int row, CareerPath career) {
+        if (!removed.get(row)) {
+            liveEntries -= rowEntries(row);
+        }
+        names.set(row, strings.intern(career.getName()));
+        descriptions.set(row, strings.intern(career.getDescription()));
+        growthPotentials.set(row, strings.intern(career.getGrowthPotential()));
+        skillStarts.set(row, (int) skillIds.size());
+        for (String skill : career.getRequiredSkills()) {
+            skillIds.add(skills.intern(skill));
+        }
+        skillEnds.set(row, (int) skillIds.size());
+        roleStarts.set(row, (int) roleIds.size());
+        for (String role : career.getRelatedRoles()) {
+            roleIds.add(strings.intern(role));
+        }
+        roleEnds.set(row, (int) roleIds.size());
+        removed.clear(row);
+        liveEntries += rowEntries(row);
+        logChange(row);
+        compactIfMostlyDead();
+    }
+
+    private long rowEntries(int row) {
+        return (skillEnds.get(row) - skillStarts.get(row)) + (roleEnds.get(row) - roleStarts.get(row));
+    }
+
+    private void logChange(int row) {
+        changeLog.add(row);
+        rowVersions.set(row, (int) (changeLogBase + changeLog.size()));
+        // Readers look back only as far as their last index build, which happens well within this
+        int kept = Math.max(CHANGE_LOG_MIN_KEPT, careerIds.size() / 32);
+        if (changeLog.size() > 2L * kept) {
+            int dropped = (int) changeLog.size() - kept;
+            changeLog.removeFirst(dropped);
+            changeLogBase += dropped;
+        }
+    }
+
+    private void compactIfMostlyDead() {
+        long deadEntries = skillIds.size() + roleIds.size() - liveEntries;
+        // Each live row holds at most three strings plus its roles
+        long deadStrings = strings.size() - (3L * careerIds.size() + liveEntries);
+        if (deadEntries > COMPACT_MIN_DEAD_ENTRIES && deadEntries > liveEntries
+                || deadStrings > COMPACT_MIN_DEAD_ENTRIES && deadStrings > 3L * careerIds.size()) {
+            compact();
+        }
+    }
+
+    // Rewrites the skill and role columns and the string pool with only what live rows use.
+    // Rows keep their numbers and skills their dictionary ids, so postings, embedding rows and
+    // views stay valid; removed rows are left with empty fields.
+    private void compact() {
+        int rows = careerIds.size();
+        OffHeapStringPool liveStrings = new OffHeapStringPool(Math.max(16, rows - removed.cardinality()) * 4L);
+        OffHeapIntColumn liveSkillIds = new OffHeapIntColumn(Math.max(16, liveEntries));
+        OffHeapIntColumn liveRoleIds = new OffHeapIntColumn(Math.max(16, liveEntries / 2));
+        int empty = liveStrings.intern("");
+        for (int row = 0; row < rows; row++) {
+            if (removed.get(row)) {
+                for (OffHeapIntColumn column : new OffHeapIntColumn[]{names, descriptions, growthPotentials}) {
+                    column.set(row, empty);
+                }
+                for (OffHeapIntColumn column : new OffHeapIntColumn[]{skillStarts, skillEnds, roleStarts, roleEnds}) {
+                    column.set(row, 0);
+                }
+                continue;
+            }
+            for (OffHeapIntColumn column : new OffHeapIntColumn[]{names, descriptions, growthPotentials}) {
+                column.set(row, liveStrings.intern(strings.get(column.get(row))));
+            }
+            int skillStart = (int) liveSkillIds.size();
+            for (int p = skillStarts.get(row); p < skillEnds.get(row); p++) {
+                liveSkillIds.add(skillIds.get(p));
+            }
+            skillStarts.set(row, skillStart);
+            skillEnds.set(row, (int) liveSkillIds.size());
+            int roleStart = (int) liveRoleIds.size();
+            for (int p = roleStarts.get(row); p < roleEnds.get(row); p++) {
+                liveRoleIds.add(liveStrings.intern(strings.get(roleIds.get(p))));
+            }
+            roleStarts.set(row, roleStart);
+            roleEnds.set(row, (int) liveRoleIds.size());
+        }
+        strings = liveStrings;
+        skillIds = liveSkillIds;
+        roleIds = liveRoleIds;
+    }
+
+    // Number of adds, replaces and removes so far; grows with every change
+    public long getModificationCount() {
+        lock.readLock().lock();
+        try {
+            return changeLogBase + changeLog.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rows changed after the given modification count, each once; null when the change log
+    // no longer reaches back that far
+    public int[] changedRowsSince(long modificationCount) {
+        lock.readLock().lock();
+        try {
+            if (modificationCount < changeLogBase) return null;
+            BitSet rows = new BitSet();
+            for (long i = modificationCount - changeLogBase; i < changeLog.size(); i++) {
+                rows.set(changeLog.get(i));
+            }
+            return rows.stream().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Skill and role ids held for superseded rows, and strings held in all
+    public String getStorageSummary() {
+        lock.readLock().lock();
+        try {
+            return String.format("%d live / %d stored skill and role ids, %d strings, %d change log entries",
+                    liveEntries, skillIds.size() + roleIds.size(), strings.size(), changeLog.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Modification count as of the row's last change
+    public int getRowVersion(int row) {
+        lock.readLock().lock();
+        try {
+            return rowVersions.get(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int[] liveRows() {
+        lock.readLock().lock();
+        try {
+            int rows = careerIds.size();
+            IntList live = new IntList();
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                live.add(row);
+            }
+            return live.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rows ever allocated, including removed ones
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return careerIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Row of a career id, or -1 if unknown or removed
+    public int findRow(String careerId) {
+        lock.readLock().lock();
+        try {
+            int row = careerIds.find(careerId);
+            return row >= 0 && !removed.get(row) ? row : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Skill dictionary id, or -1 when no career requires the skill
+    public int findSkill(String skill) {
+        lock.readLock().lock();
+        try {
+            return skills.find(skill);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getSkillCount() {
+        lock.readLock().lock();
+        try {
+            return skills.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public CareerPath view(int row) {
+        return new CatalogCareerView(this, row);
+    }
+
+    // Sums per-skill weights over each live row's required skills in one pass over the skill column.
+    // weights is indexed by skill id; visitor receives (row, summed weight, required skill count).
+    public void scan(double[] weights, RowScoreVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            IntBuffer starts = skillStarts.buffer();
+            IntBuffer ends = skillEnds.buffer();
+            IntBuffer ids = skillIds.buffer();
+            int rows = careerIds.size();
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                int start = starts.get(row);
+                int end = ends.get(row);
+                double sum = 0;
+                for (int p = start; p < end; p++) {
+                    int skill = ids.get(p);
+                    if (skill < weights.length) {
+                        sum += weights[skill];
+                    }
+                }
+                visitor.visit(row, sum, end - start);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same sum as scan() for a single row; removed rows are not visited
+    public void scoreRow(int row, double[] weights, RowScoreVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            if (removed.get(row)) return;
+            IntBuffer ids = skillIds.buffer();
+            int start = skillStarts.get(row);
+            int end = skillEnds.get(row);
+            double sum = 0;
+            for (int p = start; p < end; p++) {
+                int skill = ids.get(p);
+                if (skill < weights.length) {
+                    sum += weights[skill];
+                }
+            }
+            visitor.visit(row, sum, end - start);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SkillPostings buildSkillPostings() {
+        lock.readLock().lock();
+        try {
+            int rows = careerIds.size();
+            int skillCount = skills.size();
+            IntBuffer starts = skillStarts.buffer();
+            IntBuffer ends = skillEnds.buffer();
+            IntBuffer ids = skillIds.buffer();
+
+            // Counting sort of live rows by required skill count, so appending rows in that order
+            // leaves every posting list sorted
+            IntBuffer requiredCounts = OffHeapIntColumn.allocate(rows);
+            int maxCount = 0;
+            int liveRows = 0;
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                int count = ends.get(row) - starts.get(row);
+                requiredCounts.put(row, count);
+                maxCount = Math.max(maxCount, count);
+                liveRows++;
+            }
+            int[] countStarts = new int[maxCount + 2];
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                countStarts[requiredCounts.get(row) + 1]++;
+            }
+            for (int i = 1; i < countStarts.length; i++) {
+                countStarts[i] += countStarts[i - 1];
+            }
+            int[] rowOrder = new int[liveRows];
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                rowOrder[countStarts[requiredCounts.get(row)]++] = row;
+            }
+
+            int[] postingStarts = new int[skillCount + 1];
+            long total = 0;
+            for (int row : rowOrder) {
+                int end = ends.get(row);
+                for (int p = starts.get(row); p < end; p++) {
+                    postingStarts[ids.get(p) + 1]++;
+                    total++;
+                }
+            }
+            for (int i = 1; i < postingStarts.length; i++) {
+                postingStarts[i] += postingStarts[i - 1];
+            }
+            int[] cursors = Arrays.copyOf(postingStarts, skillCount);
+            IntBuffer postingRows = OffHeapIntColumn.allocate(total);
+            for (int row : rowOrder) {
+                int end = ends.get(row);
+                for (int p = starts.get(row); p < end; p++) {
+                    postingRows.put(cursors[ids.get(p)]++, row);
+                }
+            }
+            return new SkillPostings(rows, changeLogBase + changeLog.size(), maxCount, postingStarts, postingRows, requiredCounts,
+                    new int[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String getId(int row) {
+        lock.readLock().lock();
+        try {
+            return careerIds.get(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String getString(OffHeapIntColumn column, int row) {
+        lock.readLock().lock();
+        try {
+            return strings.get(column.get(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    String getName(int row) { return getString(names, row); }
+    String getDescription(int row) { return getString(descriptions, row); }
+    String getGrowthPotential(int row) { return getString(growthPotentials, row); }
+
+    List<String> getRequiredSkills(int row) {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            for (int p = skillStarts.get(row); p < skillEnds.get(row); p++) {
+                result.add(skills.get(skillIds.get(p)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<String> getRelatedRoles(int row) {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            for (int p = roleStarts.get(row); p < roleEnds.get(row); p++) {
+                result.add(strings.get(roleIds.get(p)));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    interface RowScoreVisitor {
+        void visit(int row, double weightSum, int requiredSkillCount);
+    }
+}
+
+// Catalog Career View class
+// CareerPath backed by a catalog row; fields are decoded on access.
+class CatalogCareerView extends CareerPath {
+    private final OffHeapCareerCatalog catalog;
+    private final int row;
+
+    public CatalogCareerView(OffHeapCareerCatalog catalog, int row) {
+        this.catalog = catalog;
+        this.row = row;
+    }
+
+    public int getRow() { return row; }
+
+    @Override public String getId() { return catalog.getId(row); }
+    @Override public String getName() { return catalog.getName(row); }
+    @Override public String getDescription() { return catalog.getDescription(row); }
+    @Override public List<String> getRequiredSkills() { return catalog.getRequiredSkills(row); }
+    @Override public String getGrowthPotential() { return catalog.getGrowthPotential(row); }
+    @Override public List<String> getRelatedRoles() { return catalog.getRelatedRoles(row); }
+}
+
+// Latency Histogram class
+// Log-linear histogram of nanosecond latencies: exact below 128 ns, then 64 buckets per power
+// of two (under 1.6% relative error). Recording is lock-free and safe from any thread.
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 2) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new AtomicLong();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    // Coordinated-omission correction: a sample longer than the expected interval between samples
+    // stands in for the requests that would have been issued meanwhile, each waiting a little less
+    public void recordWithExpectedInterval(long nanos, long expectedIntervalNanos) {
+        record(nanos);
+        if (expectedIntervalNanos <= 0) return;
+        for (long missed = nanos - expectedIntervalNanos; missed >= expectedIntervalNanos; missed -= expectedIntervalNanos) {
+            record(missed);
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalNanos.get() / count;
+    }
+
+    // Latency at or below which the given percentage (0-100) of recordings fall
+    public long getPercentileNanos(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketValue(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public String summary() {
+        return String.format("n=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                getCount(), getPercentileNanos(50) / 1e6, getPercentileNanos(90) / 1e6,
+                getPercentileNanos(99) / 1e6, getPercentileNanos(99.9) / 1e6, getMaxNanos() / 1e6);
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < (1L << SUB_BUCKET_BITS)) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    // Midpoint of the bucket's value range
+    private static long bucketValue(int index) {
+        if (index < (1 << SUB_BUCKET_BITS)) return index;
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long mantissa = index - (long) shift * HALF_SUB_BUCKETS;
+        return (mantissa << shift) + ((1L << shift) >> 1);
+    }
+}
+
+// Shard Protocol class
+// Length-prefixed frames over a local socket: [int payload length][byte type][payload].
+class ShardProtocol {
+    static final byte RECOMMEND_REQUEST = 1;
+    static final byte RECOMMEND_RESPONSE = 2;
+    static final byte ERROR_RESPONSE = 3;
+    static final byte SHUTDOWN = 4;
+
+    private static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    static void writeFrame(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        out.writeInt(payload.length);
+        out.writeByte(type);
+        out.write(payload);
+        out.flush();
+    }
+
+    // Returns null when the peer closed the connection between frames
+    static Frame readFrame(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        byte type = in.readByte();
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame(type, payload);
+    }
+
+    // The coordinator's relations for the user's skills and the shard's collaborative scores travel
+    // with the profile, so workers score exactly as the in-process recommender does
+    static byte[] encodeRequest(User user, int topK, Map<String, List<String>> relatedSkills,
+                                Map<String, Double> collaborativeScores) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(topK);
+        out.writeUTF(user.getId());
+        out.writeUTF(user.getExperienceLevel());
+        out.writeInt(user.getSkills().size());
+        for (String skill : user.getSkills()) {
+            out.writeUTF(skill);
+            out.writeInt(user.getSkillLevels().getOrDefault(skill, 0));
+        }
+        writeStrings(out, user.getInterests());
+        out.writeInt(relatedSkills.size());
+        for (Map.Entry<String, List<String>> entry : relatedSkills.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeStrings(out, entry.getValue());
+        }
+        out.writeInt(collaborativeScores.size());
+        for (Map.Entry<String, Double> entry : collaborativeScores.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+        return bytes.toByteArray();
+    }
+
+    static Request decodeRequest(DataInputStream in) throws IOException {
+        int topK = in.readInt();
+        User user = new User(in.readUTF(), "", "");
+        user.setExperienceLevel(in.readUTF());
+        int skillCount = in.readInt();
+        List<String> skills = new ArrayList<>(skillCount);
+        Map<String, Integer> skillLevels = new HashMap<>();
+        for (int i = 0; i < skillCount; i++) {
+            String skill = in.readUTF();
+            skills.add(skill);
+            skillLevels.put(skill, in.readInt());
+        }
+        user.setSkills(skills);
+        user.setSkillLevels(skillLevels);
+        user.setInterests(readStrings(in));
+        int relationCount = in.readInt();
+        Map<String, List<String>> relatedSkills = new HashMap<>();
+        for (int i = 0; i < relationCount; i++) {
+            relatedSkills.put(in.readUTF(), readStrings(in));
+        }
+        int scoreCount = in.readInt();
+        Map<String, Double> collaborativeScores = new HashMap<>();
+        for (int i = 0; i < scoreCount; i++) {
+            collaborativeScores.put(in.readUTF(), in.readDouble());
+        }
+        return new Request(user, topK, relatedSkills, collaborativeScores);
+    }
+
+    static byte[] encodeResponse(List<CareerPath> careers, long computeNanos) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(computeNanos);
+        out.writeInt(careers.size());
+        for (CareerPath career : careers) {
+            out.writeUTF(career.getId());
+            out.writeUTF(career.getName());
+            out.writeUTF(career.getDescription());
+            out.writeUTF(career.getGrowthPotential());
+            out.writeDouble(career.getMatchScore());
+            writeStrings(out, career.getRequiredSkills());
+            writeStrings(out, career.getRelatedRoles());
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<CareerPath> decodeResponse(DataInputStream in, long[] computeNanos) throws IOException {
+        computeNanos[0] = in.readLong();
+        int count = in.readInt();
+        List<CareerPath> careers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = in.readUTF();
+            String name = in.readUTF();
+            String description = in.readUTF();
+            String growthPotential = in.readUTF();
+            double matchScore = in.readDouble();
+            CareerPath career = new CareerPath(id, name, description, readStrings(in), growthPotential,
+                    readStrings(in));
+            career.setMatchScore(matchScore);
+            careers.add(career);
+        }
+        return careers;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    static class Request {
+        final User user;
+        final int topK;
+        final Map<String, List<String>> relatedSkills;
+        final Map<String, Double> collaborativeScores;
+
+        Request(User user, int topK, Map<String, List<String>> relatedSkills, Map<String, Double> collaborativeScores) {
+            this.user = user;
+            this.topK = topK;
+            this.relatedSkills = relatedSkills;
+            this.collaborativeScores = collaborativeScores;
+        }
+    }
+
+    static class Frame {
+        final byte type;
+        final byte[] payload;
+
+        Frame(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        DataInputStream payloadStream() {
+            return new DataInputStream(new ByteArrayInputStream(payload));
+        }
+    }
+}
+
+// Career Shard Worker class
+// Serves recommendations for one partition of the catalog. Careers are assigned to shards by
+// id hash. Prints "READY <port>" on stdout once it is listening on the loopback interface.
+class CareerShardWorker {
+    private final int shardIndex;
+    private final SkillMapper skillMapper;
+    private final CareerRecommender recommender;
+    // Requests score under the read lock; relation updates take the write lock
+    private final ReentrantReadWriteLock relationsLock = new ReentrantReadWriteLock();
+    // Held by each request in flight; shutdown takes the write lock to wait for them
+    private final ReentrantReadWriteLock requestsLock = new ReentrantReadWriteLock();
+    private volatile ServerSocket server;
+    private volatile boolean shutDown;
+
+    // Loads only this shard's careers from the advisor's catalog source, with the advisor's embeddings
+    public CareerShardWorker(int shardIndex, int shardCount) {
+        this.shardIndex = shardIndex;
+        this.skillMapper = new SkillMapper();
+        this.recommender = new CareerRecommender(
+                CareerAdvisor.loadCareers(id -> shardOf(id, shardCount) == shardIndex));
+        recommender.setSkillMapper(skillMapper);
+        // Interactions stay with the coordinator, which sends this shard's scores with each request
+        recommender.setCollaborativeRecommender(null, CareerAdvisor.COLLABORATIVE_WEIGHT);
+        SkillEmbeddings embeddings = CareerAdvisor.loadSkillEmbeddings();
+        if (embeddings != null) {
+            recommender.setEmbeddings(embeddings, CareerAdvisor.EMBEDDING_WEIGHT);
+        }
+    }
+
+    static int shardOf(String careerId, int shardCount) {
+        return Math.floorMod(careerId.hashCode(), shardCount);
+    }
+
+    // Returns once a SHUTDOWN frame arrives and the requests in flight have been answered
+    public void serve() throws IOException {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            this.server = server;
+            System.out.println("READY " + server.getLocalPort());
+            System.out.flush();
+
+            while (!shutDown) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (IOException e) {
+                    if (shutDown) break; // Closed by the SHUTDOWN frame
+                    throw e;
+                }
+                Thread handler = new Thread(() -> handle(socket), "shard-" + shardIndex + "-connection");
+                handler.setDaemon(true);
+                handler.start();
+            }
+        }
+        // Idle pooled connections are daemon threads and end with the JVM
+        requestsLock.writeLock().lock();
+    }
+
+    private void shutDown() {
+        shutDown = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            s.setTcpNoDelay(true);
+            ShardProtocol.Frame frame;
+            while ((frame = ShardProtocol.readFrame(in)) != null) {
+                if (frame.type == ShardProtocol.SHUTDOWN) {
+                    shutDown();
+                    return;
+                }
+                if (frame.type != ShardProtocol.RECOMMEND_REQUEST) {
+                    ShardProtocol.writeFrame(out, ShardProtocol.ERROR_RESPONSE,
+                            ("Unknown frame type " + frame.type).getBytes(StandardCharsets.UTF_8));
+                    continue;
+                }
+
+                // A request that arrives once shutdown has begun would be cut off when the JVM exits
+                if (shutDown || !requestsLock.readLock().tryLock()) return;
+                try {
+                    long start = System.nanoTime();
+                    ShardProtocol.Request request = ShardProtocol.decodeRequest(frame.payloadStream());
+                    List<CareerPath> careers;
+                    lockRelations(request.relatedSkills);
+                    try {
+                        careers = recommender.recommendCareers(request.user, request.collaborativeScores);
+                    } finally {
+                        relationsLock.readLock().unlock();
+                    }
+                    if (careers.size() > request.topK) {
+                        careers = careers.subList(0, request.topK);
+                    }
+                    ShardProtocol.writeFrame(out, ShardProtocol.RECOMMEND_RESPONSE,
+                            ShardProtocol.encodeResponse(careers, System.nanoTime() - start));
+                } catch (RuntimeException e) {
+                    ShardProtocol.writeFrame(out, ShardProtocol.ERROR_RESPONSE,
+                            String.valueOf(e).getBytes(StandardCharsets.UTF_8));
+                } finally {
+                    requestsLock.readLock().unlock();
+                }
+            }
+        } catch (IOException e) {
+            // Coordinator went away; nothing to clean up beyond the socket
+        }
+    }
+
+    // Returns holding the read lock, with the coordinator's relations for the request's skills in place.
+    // Requests whose relations already match share the lock; others apply theirs under the write lock
+    // and downgrade, so a concurrent request cannot change them before scoring.
+    private void lockRelations(Map<String, List<String>> relatedSkills) {
+        relationsLock.readLock().lock();
+        boolean current = true;
+        for (Map.Entry<String, List<String>> entry : relatedSkills.entrySet()) {
+            current &= skillMapper.getRelatedSkills(entry.getKey()).equals(entry.getValue());
+        }
+        if (current) return;
+
+        relationsLock.readLock().unlock();
+        relationsLock.writeLock().lock();
+        try {
+            for (Map.Entry<String, List<String>> entry : relatedSkills.entrySet()) {
+                if (skillMapper.setRelations(entry.getKey(), entry.getValue())) {
+                    recommender.invalidateRelatedSkills(entry.getKey());
+                }
+            }
+            relationsLock.readLock().lock();
+        } finally {
+            relationsLock.writeLock().unlock();
+        }
+    }
+}
+
+// Sharded Career Recommender class
+// Coordinator for N local worker processes: scatters each request to every shard, gathers the
+// partial top-K lists and merges them. Connections are pooled per shard. The advisor supplies the
+// skill relations and interaction history the workers score with.
+class ShardedCareerRecommender implements Closeable {
+    private final CareerAdvisor advisor;
+    private final List<Process> workers;
+    private final List<Integer> ports;
+    private final List<ConcurrentLinkedQueue<ShardConnection>> connectionPools;
+    private final List<LatencyHistogram> shardLatencies;
+    private final LatencyHistogram overallLatency;
+    private final ExecutorService scatterPool;
+
+    private ShardedCareerRecommender(CareerAdvisor advisor, List<Process> workers, List<Integer> ports) {
+        this.advisor = advisor;
+        this.workers = workers;
+        this.ports = ports;
+        this.connectionPools = new ArrayList<>();
+        this.shardLatencies = new ArrayList<>();
+        for (int i = 0; i < ports.size(); i++) {
+            connectionPools.add(new ConcurrentLinkedQueue<>());
+            shardLatencies.add(new LatencyHistogram());
+        }
+        this.overallLatency = new LatencyHistogram();
+        this.scatterPool = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Starts the workers as child JVMs on the current class path and waits until they listen
+    public static ShardedCareerRecommender launch(CareerAdvisor advisor, int shardCount) throws IOException {
+        String javaBinary = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> jvmOptions = new ArrayList<>();
+        for (String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // Debug agents would collide on their ports
+            if (!option.startsWith("-agentlib") && !option.startsWith("-javaagent")) {
+                jvmOptions.add(option);
+            }
+        }
+
+        List<Process> workers = new ArrayList<>();
+        List<Integer> ports = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                List<String> command = new ArrayList<>();
+                command.add(javaBinary);
+                command.addAll(jvmOptions);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(AICareerAdvisorGUI.class.getName());
+                command.add("--shard-worker");
+                command.add(Integer.toString(shard));
+                command.add(Integer.toString(shardCount));
+                workers.add(new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start());
+            }
+            for (Process worker : workers) {
+                BufferedReader output = new BufferedReader(new InputStreamReader(worker.getInputStream(),
+                        StandardCharsets.UTF_8));
+                String line = output.readLine();
+                if (line == null || !line.startsWith("READY ")) {
+                    throw new IOException("Shard worker failed to start: " + line);
+                }
+                ports.add(Integer.parseInt(line.substring("READY ".length()).trim()));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Process worker : workers) {
+                worker.destroyForcibly();
+            }
+            throw e;
+        }
+        return new ShardedCareerRecommender(advisor, workers, ports);
+    }
+
+    public int getShardCount() {
+        return ports.size();
+    }
+
+    public List<CareerPath> recommendCareers(User user, int topK) throws IOException {
+        long start = System.nanoTime();
+        SkillMapper skillMapper = advisor.getSkillMapper();
+        Map<String, List<String>> relatedSkills = new HashMap<>();
+        for (String skill : user.getSkills()) {
+            relatedSkills.put(skill, skillMapper.getRelatedSkills(skill));
+        }
+        // Each shard only needs the collaborative scores of its own careers
+        List<Map<String, Double>> shardScores = new ArrayList<>();
+        for (int shard = 0; shard < ports.size(); shard++) {
+            shardScores.add(new HashMap<>());
+        }
+        for (Map.Entry<String, Double> entry
+                : advisor.getCollaborativeRecommender().scoreCareers(user.getId()).entrySet()) {
+            shardScores.get(CareerShardWorker.shardOf(entry.getKey(), ports.size())).put(entry.getKey(), entry.getValue());
+        }
+
+        List<CompletableFuture<List<CareerPath>>> partials = new ArrayList<>();
+        for (int shard = 0; shard < ports.size(); shard++) {
+            int target = shard;
+            byte[] request = ShardProtocol.encodeRequest(user, topK, relatedSkills, shardScores.get(shard));
+            partials.add(CompletableFuture.supplyAsync(() -> queryShard(target, request), scatterPool));
+        }
+
+        List<CareerPath> merged = new ArrayList<>();
+        for (int shard = 0; shard < partials.size(); shard++) {
+            try {
+                merged.addAll(partials.get(shard).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof UncheckedIOException
+                        ? ((UncheckedIOException) cause).getCause()
+                        : new IOException("Shard " + shard + " failed", cause);
+            }
+        }
+
+        merged.sort(CareerRecommender::compareRanking);
+        overallLatency.record(System.nanoTime() - start);
+        return merged.size() > topK ? new ArrayList<>(merged.subList(0, topK)) : merged;
+    }
+
+    private List<CareerPath> queryShard(int shard, byte[] request) {
+        long start = System.nanoTime();
+        ShardConnection connection = connectionPools.get(shard).poll();
+        try {
+            if (connection == null) {
+                connection = new ShardConnection(ports.get(shard));
+            }
+            List<CareerPath> careers = connection.call(request);
+            connectionPools.get(shard).offer(connection);
+            shardLatencies.get(shard).record(System.nanoTime() - start);
+            return careers;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            throw new UncheckedIOException(new IOException("Shard " + shard + ": " + e.getMessage(), e));
+        }
+    }
+
+    public String getLatencyReport() {
+        StringBuilder report = new StringBuilder();
+        for (int shard = 0; shard < shardLatencies.size(); shard++) {
+            report.append("shard ").append(shard).append(": ").append(shardLatencies.get(shard).summary()).append("\n");
+        }
+        report.append("overall: ").append(overallLatency.summary()).append("\n");
+        return report.toString();
+    }
+
+    @Override
+    public void close() {
+        for (int shard = 0; shard < ports.size(); shard++) {
+            try (ShardConnection connection = new ShardConnection(ports.get(shard))) {
+                connection.send(ShardProtocol.SHUTDOWN, new byte[0]);
+            } catch (IOException e) {
+                // Worker already gone
+            }
+            ShardConnection pooled;
+            while ((pooled = connectionPools.get(shard).poll()) != null) {
+                pooled.close();
+            }
+        }
+        for (Process worker : workers) {
+            try {
+                if (!worker.waitFor(2, TimeUnit.SECONDS)) {
+                    worker.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                worker.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        scatterPool.shutdownNow();
+    }
+
+    private static class ShardConnection implements Closeable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        ShardConnection(int port) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            this.socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void send(byte type, byte[] payload) throws IOException {
+            ShardProtocol.writeFrame(out, type, payload);
+        }
+
+        List<CareerPath> call(byte[] request) throws IOException {
+            send(ShardProtocol.RECOMMEND_REQUEST, request);
+            ShardProtocol.Frame frame = ShardProtocol.readFrame(in);
+            if (frame == null) {
+                throw new EOFException("connection closed");
+            }
+            if (frame.type == ShardProtocol.ERROR_RESPONSE) {
+                throw new IOException(new String(frame.payload, StandardCharsets.UTF_8));
+            }
+            return ShardProtocol.decodeResponse(frame.payloadStream(), new long[1]);
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+}
+
+// Startup Timer class
+// Records startup phases relative to JVM start so time-to-first-frame and
+// time-to-first-recommendation can be tracked across releases.
+class StartupTimer {
+    private final long originNanos;
+    private final List<String> phases;
+    private final Map<String, long[]> spans;     // phase -> {start offset, end offset}
+    private final Map<String, String> threads;
+
+    public StartupTimer() {
+        long uptimeNanos = ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+        this.originNanos = System.nanoTime() - uptimeNanos;
+        this.phases = new ArrayList<>();
+        this.spans = new HashMap<>();
+        this.threads = new HashMap<>();
+    }
+
+    // Milestone; only the first occurrence of a name is kept
+    public void mark(String milestone) {
+        long now = System.nanoTime() - originNanos;
+        record(milestone, now, now);
+    }
+
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime() - originNanos;
+        try {
+            return work.get();
+        } finally {
+            record(phase, start, System.nanoTime() - originNanos);
+        }
+    }
+
+    public synchronized boolean hasMark(String phase) {
+        return spans.containsKey(phase);
+    }
+
+    // When the phase ended, in ms since JVM start; -1 if it has not been recorded
+    public synchronized double getMillis(String phase) {
+        long[] span = spans.get(phase);
+        return span != null ? span[1] / 1e6 : -1;
+    }
+
+    public synchronized String report() {
+        List<String> ordered = new ArrayList<>(phases);
+        ordered.sort(Comparator.comparingLong(phase -> spans.get(phase)[1]));
+
+        StringBuilder report = new StringBuilder("Startup timing (ms since JVM start):\n");
+        for (String phase : ordered) {
+            long[] span = spans.get(phase);
+            report.append(String.format("  %8.1f  %s", span[1] / 1e6, phase));
+            if (span[1] > span[0]) {
+                report.append(String.format(" (%.1f ms on %s)", (span[1] - span[0]) / 1e6, threads.get(phase)));
+            }
+            report.append("\n");
+        }
+        return report.toString();
+    }
+
+    private synchronized void record(String phase, long start, long end) {
+        if (spans.containsKey(phase)) return;
+        phases.add(phase);
+        spans.put(phase, new long[]{start, end});
+        threads.put(phase, Thread.currentThread().getName());
+    }
+}
+
+// Resource Query class
+// Free-text query with optional type and hour filters. parse() understands phrases such as
+// "kubernetes security course under 20 hours": a type word qualifying other terms becomes a
+// filter, hour phrases a range.
+class ResourceQuery {
+    private static final Pattern MAX_HOURS = Pattern.compile(
+            "(?:\\b(?:under|below|less than|at most|up to|max(?:imum)?)|<=?)\\s*(\\d+)\\s*(?:h|hrs?|hours?)?\\b");
+    private static final Pattern MIN_HOURS = Pattern.compile(
+            "(?:\\b(?:over|above|more than|at least|min(?:imum)?)|>=?)\\s*(\\d+)\\s*(?:h|hrs?|hours?)?\\b");
+    // "course on docker", "book about sql"
+    private static final Set<String> QUALIFIER_PREPOSITIONS = new HashSet<>(
+            Arrays.asList("on", "about", "for", "in", "covering"));
+
+    private String text;
+    private String type;
+    private int minHours;
+    private int maxHours;
+
+    public ResourceQuery(String text, String type, int minHours, int maxHours) {
+        this.text = text;
+        this.type = type;
+        this.minHours = minHours;
+        this.maxHours = maxHours;
+    }
+
+    public static ResourceQuery parse(String query, Set<String> knownTypes) {
+        String remaining = query.toLowerCase(Locale.ROOT);
+        int minHours = 0;
+        int maxHours = Integer.MAX_VALUE;
+
+        Matcher max = MAX_HOURS.matcher(remaining);
+        if (max.find()) {
+            maxHours = Integer.parseInt(max.group(1));
+            remaining = remaining.substring(0, max.start()) + " " + remaining.substring(max.end());
+        }
+        Matcher min = MIN_HOURS.matcher(remaining);
+        if (min.find()) {
+            minHours = Integer.parseInt(min.group(1));
+            remaining = remaining.substring(0, min.start()) + " " + remaining.substring(min.end());
+        }
+
+        // A type word only filters when it qualifies other terms, as in "docker course" or "course on
+        // docker"; in "course design" or a bare "video" it is what the user is searching for. It stays
+        // a search term either way, since resource types are indexed.
+        List<String> tokens = LearningResourceIndex.tokenize(remaining);
+        String type = null;
+        for (int i = 0; i < tokens.size() && type == null && tokens.size() > 1; i++) {
+            boolean qualifier = i == tokens.size() - 1 || QUALIFIER_PREPOSITIONS.contains(tokens.get(i + 1));
+            String token = tokens.get(i);
+            String singular = token.endsWith("s") ? token.substring(0, token.length() - 1) : token;
+            if (qualifier && knownTypes.contains(token)) {
+                type = token;
+            } else if (qualifier && knownTypes.contains(singular)) {
+                type = singular;
+            }
+        }
+        return new ResourceQuery(String.join(" ", tokens), type, minHours, maxHours);
+    }
+
+    // Getters
+    public String getText() { return text; }
+    public String getType() { return type; }
+    public int getMinHours() { return minHours; }
+    public int getMaxHours() { return maxHours; }
+}
+
+// Resource Search Result class
+class ResourceSearchResult {
+    private LearningResource resource;
+    private double score;
+
+    public ResourceSearchResult(LearningResource resource, double score) {
+        this.resource = resource;
+        this.score = score;
+    }
+
+    public LearningResource getResource() { return resource; }
+    public double getScore() { return score; }
+}
+
+// Learning Resource Index class
+// BM25 inverted index over resource name, type and skills covered. Postings are delta-encoded
+// varints (doc gap, term frequency). Type filters are bitsets and hour filters are binary
+// searches over doc ids pre-sorted by estimated hours.
+class LearningResourceIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SKILL_WEIGHT = 2;   // skills covered count double toward term frequency
+
+    private final List<LearningResource> documents;
+    private final Map<String, Integer> documentIds;
+    private final Map<String, PostingList> postings;
+    private final IntList documentLengths;
+    private long totalLength;
+    private final IntList hours;
+    private final Map<String, BitSet> documentsByType;
+    private final BitSet removed;
+    private int[] documentsByHours;
+    private int sortedCount;
+    private final ReentrantReadWriteLock lock;
+    private final ThreadLocal<float[]> scratchScores;
+
+    public LearningResourceIndex() {
+        this.documents = new ArrayList<>();
+        this.documentIds = new HashMap<>();
+        this.postings = new HashMap<>();
+        this.documentLengths = new IntList();
+        this.hours = new IntList();
+        this.documentsByType = new HashMap<>();
+        this.removed = new BitSet();
+        this.documentsByHours = new int[0];
+        this.lock = new ReentrantReadWriteLock();
+        this.scratchScores = ThreadLocal.withInitial(() -> new float[0]);
+    }
+
+    // Adding a resource id that is already indexed is a no-op
+    public void add(LearningResource resource) {
+        lock.writeLock().lock();
+        try {
+            if (documentIds.containsKey(resource.getId())) return;
+            int doc = documents.size();
+            documents.add(resource);
+            documentIds.put(resource.getId(), doc);
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies(resource).entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new PostingList()).add(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            documentLengths.add(length);
+            totalLength += length;
+
+            hours.add(resource.getEstimatedHours());
+            documentsByType.computeIfAbsent(resource.getType().toLowerCase(Locale.ROOT), t -> new BitSet()).set(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The postings keep the removed entry behind a tombstone, but document frequencies and the
+    // total length drop it, so idf and average length stay those of the live documents
+    public void remove(String resourceId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = documentIds.remove(resourceId);
+            if (doc != null) {
+                removed.set(doc);
+                for (String term : termFrequencies(documents.get(doc)).keySet()) {
+                    postings.get(term).documentFrequency--;
+                }
+                totalLength -= documentLengths.get(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(LearningResource resource) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokenize(resource.getName())) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        for (String token : tokenize(resource.getType())) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        for (String skill : resource.getSkillsCovered()) {
+            for (String token : tokenize(skill)) {
+                termFrequencies.merge(token, SKILL_WEIGHT, Integer::sum);
+            }
+        }
+        return termFrequencies;
+    }
+
+    public Set<String> getTypes() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documentsByType.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ResourceSearchResult> search(String query, int limit) {
+        return search(ResourceQuery.parse(query, getTypes()), limit);
+    }
+
+    public List<ResourceSearchResult> search(ResourceQuery query, int limit) {
+        sortNewDocumentsByHours();
+
+        lock.readLock().lock();
+        try {
+            BitSet allowed = filter(query);
+            List<String> terms = tokenize(query.getText());
+            PriorityQueue<ResourceSearchResult> top = new PriorityQueue<>(
+                    Comparator.comparingDouble(ResourceSearchResult::getScore));
+
+            if (terms.isEmpty()) {
+                // Filter-only query: shortest resources first
+                List<ResourceSearchResult> results = new ArrayList<>();
+                for (int i = 0; i < sortedCount && results.size() < limit; i++) {
+                    int doc = documentsByHours[i];
+                    if (allowed.get(doc)) {
+                        results.add(new ResourceSearchResult(documents.get(doc), 0));
+                    }
+                }
+                return results;
+            }
+
+            // Term-at-a-time BM25 accumulation over the decoded postings
+            float[] scores = scratchScores.get();
+            if (scores.length < documents.size()) {
+                scores = new float[documents.size() * 2];
+                scratchScores.set(scores);
+            }
+            IntList touched = new IntList();
+            int liveDocuments = documentIds.size();
+            double averageLength = liveDocuments == 0 ? 1 : (double) totalLength / liveDocuments;
+            for (String term : new LinkedHashSet<>(terms)) {
+                PostingList list = postings.get(term);
+                if (list == null) continue;
+
+                double idf = Math.log(1 + (liveDocuments - list.documentFrequency + 0.5) / (list.documentFrequency + 0.5));
+                int position = 0;
+                int doc = 0;
+                while (position < list.size) {
+                    int gap = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = list.data[position++];
+                        gap |= (b & 0x7F) << shift;
+                        if (b >= 0) break;
+                    }
+                    int frequency = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = list.data[position++];
+                        frequency |= (b & 0x7F) << shift;
+                        if (b >= 0) break;
+                    }
+                    doc += gap;
+                    if (!allowed.get(doc)) continue;
+
+                    double norm = K1 * (1 - B + B * documentLengths.get(doc) / averageLength);
+                    if (scores[doc] == 0) touched.add(doc);
+                    scores[doc] += (float) (idf * frequency * (K1 + 1) / (frequency + norm));
+                }
+            }
+
+            for (int i = 0; i < touched.size(); i++) {
+                int doc = touched.get(i);
+                float score = scores[doc];
+                scores[doc] = 0;
+                if (top.size() < limit) {
+                    top.add(new ResourceSearchResult(documents.get(doc), score));
+                } else if (limit > 0 && score > top.peek().getScore()) {
+                    top.poll();
+                    top.add(new ResourceSearchResult(documents.get(doc), score));
+                }
+            }
+
+            List<ResourceSearchResult> results = new ArrayList<>(top);
+            results.sort((r1, r2) -> Double.compare(r2.getScore(), r1.getScore()));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filter(ResourceQuery query) {
+        BitSet allowed;
+        if (query.getMinHours() > 0 || query.getMaxHours() < Integer.MAX_VALUE) {
+            // Range over the hour-sorted doc ids
+            int from = lowerBound(query.getMinHours());
+            int to = query.getMaxHours() == Integer.MAX_VALUE ? sortedCount : lowerBound(query.getMaxHours() + 1);
+            allowed = new BitSet(documents.size());
+            for (int i = from; i < to; i++) {
+                allowed.set(documentsByHours[i]);
+            }
+        } else {
+            allowed = new BitSet(documents.size());
+            allowed.set(0, documents.size());
+        }
+
+        if (query.getType() != null) {
+            allowed.and(documentsByType.getOrDefault(query.getType().toLowerCase(Locale.ROOT), new BitSet()));
+        }
+        allowed.andNot(removed);
+        return allowed;
+    }
+
+    // First position in documentsByHours whose hours are >= value
+    private int lowerBound(int value) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hours.get(documentsByHours[mid]) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Sorts only documents added since the last call and merges them into the sorted order
+    private void sortNewDocumentsByHours() {
+        lock.readLock().lock();
+        try {
+            if (sortedCount == documents.size()) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            int total = documents.size();
+            if (sortedCount == total) return;
+
+            Integer[] added = new Integer[total - sortedCount];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = sortedCount + i;
+            }
+            Arrays.sort(added, Comparator.comparingInt(hours::get));
+
+            int[] merged = new int[total];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < sortedCount || j < added.length) {
+                if (j == added.length || (i < sortedCount && hours.get(documentsByHours[i]) <= hours.get(added[j]))) {
+                    merged[k++] = documentsByHours[i++];
+                } else {
+                    merged[k++] = added[j++];
+                }
+            }
+            documentsByHours = merged;
+            sortedCount = total;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#.]+")) {
+            // Keep dots inside tokens such as "node.js" but not at the edges
+            int start = 0;
+            int end = token.length();
+            while (start < end && token.charAt(start) == '.') start++;
+            while (end > start && token.charAt(end - 1) == '.') end--;
+            if (end > start) {
+                tokens.add(token.substring(start, end));
+            }
+        }
+        return tokens;
+    }
+
+    // Varint-encoded (doc gap, frequency) pairs in increasing doc order
+    private static class PostingList {
+        private byte[] data = new byte[8];
+        private int size;
+        private int lastDocument;
+        private int documentFrequency;
+
+        void add(int doc, int frequency) {
+            writeVarint(doc - lastDocument);
+            writeVarint(frequency);
+            lastDocument = doc;
+            documentFrequency++;
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+}
+
+// Profile change class
+class ProfileChange {
+    public enum Type {
+        SKILL_ADDED, SKILL_REMOVED, SKILL_LEVEL_CHANGED, SKILLS_REPLACED, INTERESTS_CHANGED, EXPERIENCE_CHANGED
+    }
+
+    private String userId;
+    private Type type;
+    private String skill;
+    private int index;
+    private int level;
+
+    public ProfileChange(String userId, Type type, String skill, int index, int level) {
+        this.userId = userId;
+        this.type = type;
+        this.skill = skill;
+        this.index = index;
+        this.level = level;
+    }
+
+    public String getUserId() { return userId; }
+    public Type getType() { return type; }
+    public String getSkill() { return skill; }
+    // Position in the user's skill list, or -1 for non-skill changes
+    public int getIndex() { return index; }
+    public int getLevel() { return level; }
+}
+
+// Profile change listener interface
+interface ProfileChangeListener {
+    void profileChanged(ProfileChange change);
+}
+
+// Profile change batcher class
+class ProfileChangeBatcher implements ProfileChangeListener {
+    private Consumer<List<ProfileChange>> sink;
+    private Executor deliveryExecutor;
+    private ConcurrentLinkedQueue<ProfileChange> pending;
+    private AtomicBoolean scheduled;
+    private AtomicLong changeCount;
+    private AtomicLong batchCount;
+
+    // Changes arriving before the scheduled delivery runs share one batch
+    public ProfileChangeBatcher(Consumer<List<ProfileChange>> sink, Executor deliveryExecutor) {
+        this.sink = sink;
+        this.deliveryExecutor = deliveryExecutor;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean();
+        this.changeCount = new AtomicLong();
+        this.batchCount = new AtomicLong();
+    }
+
+    @Override
+    public void profileChanged(ProfileChange change) {
+        pending.add(change);
+        changeCount.incrementAndGet();
+        if (scheduled.compareAndSet(false, true)) {
+            deliveryExecutor.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        // Clear the flag first so a change racing with the drain schedules another delivery
+        scheduled.set(false);
+        List<ProfileChange> batch = new ArrayList<>();
+        ProfileChange change;
+        while ((change = pending.poll()) != null) {
+            batch.add(change);
+        }
+        if (!batch.isEmpty()) {
+            batchCount.incrementAndGet();
+            sink.accept(batch);
+        }
+    }
+
+    public long getChangeCount() { return changeCount.get(); }
+    public long getBatchCount() { return batchCount.get(); }
+}
+
+// Skill list model class
+class SkillListModel extends AbstractListModel<String> {
+    private static final long serialVersionUID = 1L;
+    private static final int NONE = 0;
+    private static final int ADDED = 1;
+    private static final int REMOVED = 2;
+    private static final int CHANGED = 3;
+
+    private List<String> skills;
+    private Map<String, Integer> levels;
+
+    // Run of adjacent rows touched by the same kind of edit, not yet announced
+    private int runKind;
+    private int runStart;
+    private int runEnd;
+
+    public SkillListModel() {
+        this.skills = new ArrayList<>();
+        this.levels = new HashMap<>();
+    }
+
+    @Override
+    public int getSize() { return skills.size(); }
+
+    @Override
+    public String getElementAt(int index) {
+        String skill = skills.get(index);
+        return skill + " (Level: " + levels.get(skill) + ")";
+    }
+
+    public String getSkillAt(int index) { return skills.get(index); }
+
+    public void reset(User user) {
+        int oldSize = skills.size();
+        skills = new ArrayList<>(user.getSkills());
+        levels = new HashMap<>(user.getSkillLevels());
+        if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1);
+        if (!skills.isEmpty()) fireIntervalAdded(this, 0, skills.size() - 1);
+    }
+
+    // Replays a batch of edits, announcing each run of adjacent rows as one range event.
+    // A run is announced before the next edit touches the rows, so listeners never see stale indices.
+    public void apply(List<ProfileChange> changes, User user) {
+        for (ProfileChange change : changes) {
+            if (change.getType() == ProfileChange.Type.SKILLS_REPLACED) {
+                // Wholesale replacement; the user already reflects every edit in this batch
+                reset(user);
+                return;
+            }
+        }
+
+        runKind = NONE;
+        for (ProfileChange change : changes) {
+            int index = change.getIndex();
+            switch (change.getType()) {
+                case SKILL_ADDED:
+                    if (runKind == ADDED && index == runEnd + 1) {
+                        runEnd = index;
+                    } else {
+                        startRun(ADDED, index);
+                    }
+                    skills.add(index, change.getSkill());
+                    levels.put(change.getSkill(), change.getLevel());
+                    break;
+                case SKILL_REMOVED:
+                    if (runKind == REMOVED && index == runStart) {
+                        runEnd++;
+                    } else if (runKind == REMOVED && index == runStart - 1) {
+                        runStart = index;
+                    } else {
+                        startRun(REMOVED, index);
+                    }
+                    skills.remove(index);
+                    levels.remove(change.getSkill());
+                    break;
+                case SKILL_LEVEL_CHANGED:
+                    if (runKind == CHANGED) {
+                        runStart = Math.min(runStart, index);
+                        runEnd = Math.max(runEnd, index);
+                    } else {
+                        startRun(CHANGED, index);
+                    }
+                    levels.put(change.getSkill(), change.getLevel());
+                    break;
+                default:
+                    break;
+            }
+        }
+        endRun();
+    }
+
+    private void startRun(int kind, int index) {
+        endRun();
+        runKind = kind;
+        runStart = index;
+        runEnd = index;
+    }
+
+    private void endRun() {
+        if (runKind == ADDED) {
+            fireIntervalAdded(this, runStart, runEnd);
+        } else if (runKind == REMOVED) {
+            fireIntervalRemoved(this, runStart, runEnd);
+        } else if (runKind == CHANGED) {
+            fireContentsChanged(this, runStart, runEnd);
+        }
+        runKind = NONE;
+    }
+}
+
+// Load generator class
+// Drives simulated user sessions against a CareerAdvisor to reproduce production load and soak for leaks.
+// Closed loop: each session issues its next request when the previous one finishes.
+// Open loop: requests arrive on a fixed schedule whether or not earlier ones have finished,
+// and response time is measured from the scheduled arrival, so stalls are not hidden. Arrivals
+// go to a worker pool sized by CPU count, so the session count only sets how many users there are.
+class LoadGenerator {
+    private static final String RECOMMEND = "recommend";
+    private static final String PROFILE_EDIT = "profile edit";
+    private static final String LEARNING_PATH = "learning path";
+    private static final List<String> OPERATIONS = Arrays.asList(RECOMMEND, PROFILE_EDIT, LEARNING_PATH);
+
+    private CareerAdvisor advisor;
+    private int sessionCount;
+    private long seed;
+    private PrintStream progress;
+    private long reportIntervalMillis;
+
+    // Skills ordered by seeded popularity, with a Zipf cumulative distribution over them
+    private List<String> skillPool;
+    private double[] skillCdf;
+
+    private Map<String, LatencyHistogram> responseTimes;
+    private Map<String, LatencyHistogram> serviceTimes;
+    private AtomicLong completed;
+    private AtomicLong failed;
+    private AtomicLong allocatedBytes;
+    private AtomicReference<String> firstFailure;
+
+    public LoadGenerator(CareerAdvisor advisor, int sessionCount, long seed, PrintStream progress,
+                         long reportIntervalMillis) {
+        this.advisor = advisor;
+        this.sessionCount = sessionCount;
+        this.seed = seed;
+        this.progress = progress;
+        this.reportIntervalMillis = reportIntervalMillis;
+
+        this.skillPool = new ArrayList<>(advisor.getSkillMapper().getKnownSkills());
+        Collections.sort(skillPool);
+        Collections.shuffle(skillPool, new Random(seed));
+        this.skillCdf = new double[skillPool.size()];
+        double total = 0;
+        for (int i = 0; i < skillCdf.length; i++) {
+            total += 1.0 / (i + 1);
+            skillCdf[i] = total;
+        }
+        for (int i = 0; i < skillCdf.length; i++) {
+            skillCdf[i] /= total;
+        }
+    }
+
+    // Each session starts a request every intervalMillis; 0 runs back to back with no latency correction
+    public LoadTestSummary runClosedLoop(long durationMillis, long intervalMillis) throws InterruptedException {
+        long expectedIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        return run("closed", durationMillis, (sessions, deadline) -> {
+            ExecutorService pool = Executors.newFixedThreadPool(sessions.size(), daemonThreads("load-session"));
+            for (Session session : sessions) {
+                pool.execute(() -> {
+                    long allocatedBefore = currentThreadAllocatedBytes();
+                    long nextStart = System.nanoTime();
+                    while (nextStart < deadline) {
+                        long start = System.nanoTime();
+                        String operation = execute(session);
+                        long serviceNanos = System.nanoTime() - start;
+                        serviceTimes.get(operation).record(serviceNanos);
+                        // A late response also delays the requests that should have started meanwhile
+                        responseTimes.get(operation).recordWithExpectedInterval(serviceNanos, expectedIntervalNanos);
+
+                        nextStart = Math.max(start + expectedIntervalNanos, System.nanoTime());
+                        sleepUntil(nextStart);
+                    }
+                    allocatedBytes.addAndGet(currentThreadAllocatedBytes() - allocatedBefore);
+                });
+            }
+            pool.shutdown();
+            return pool;
+        });
+    }
+
+    // Requests arrive at a fixed total rate, each for the next session in turn
+    public LoadTestSummary runOpenLoop(double requestsPerSecond, long durationMillis) throws InterruptedException {
+        long arrivalIntervalNanos = (long) (1e9 / requestsPerSecond);
+        return run("open", durationMillis, (sessions, deadline) -> {
+            ExecutorService workers = Executors.newFixedThreadPool(
+                    4 * Runtime.getRuntime().availableProcessors(), daemonThreads("load-worker"));
+            ExecutorService arrivals = Executors.newSingleThreadExecutor(daemonThreads("load-arrivals"));
+            arrivals.execute(() -> {
+                long first = System.nanoTime();
+                long intended = first;
+                for (long arrival = 0; intended < deadline; intended = first + ++arrival * arrivalIntervalNanos) {
+                    sleepUntil(intended);
+                    Session session = sessions.get((int) (arrival % sessions.size()));
+                    long arrivedAt = intended;
+                    // Queueing for a worker, or behind the session's previous request, counts as response time
+                    workers.execute(() -> {
+                        long allocatedBefore = currentThreadAllocatedBytes();
+                        synchronized (session) {
+                            long start = System.nanoTime();
+                            String operation = execute(session);
+                            long end = System.nanoTime();
+                            serviceTimes.get(operation).record(end - start);
+                            responseTimes.get(operation).record(end - arrivedAt);
+                        }
+                        allocatedBytes.addAndGet(currentThreadAllocatedBytes() - allocatedBefore);
+                    });
+                }
+                workers.shutdown();
+            });
+            arrivals.shutdown();
+            return workers;
+        });
+    }
+
+    private LoadTestSummary run(String mode, long durationMillis, LoadDriver driver) throws InterruptedException {
+        responseTimes = new LinkedHashMap<>();
+        serviceTimes = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            responseTimes.put(operation, new LatencyHistogram());
+            serviceTimes.put(operation, new LatencyHistogram());
+        }
+        completed = new AtomicLong();
+        failed = new AtomicLong();
+        allocatedBytes = new AtomicLong();
+        firstFailure = new AtomicReference<>();
+
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(createSession(i));
+        }
+
+        // Full collections around the run make the start and end heap figures comparable
+        System.gc();
+        GcSnapshot gcBefore = GcSnapshot.take();
+        long heapBefore = GcSnapshot.heapUsedAfterGc();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        ExecutorService pool = driver.start(sessions, deadline);
+
+        long lastCompleted = 0;
+        long lastReport = start;
+        while (!pool.awaitTermination(reportIntervalMillis, TimeUnit.MILLISECONDS)) {
+            long now = System.nanoTime();
+            long done = completed.get();
+            progress.printf("[%6.0fs] %.1f req/s, %d failed, recommend p99=%.2fms, heap after GC %.1f MB, in flight %d%n",
+                    (now - start) / 1e9, (done - lastCompleted) / ((now - lastReport) / 1e9), failed.get(),
+                    responseTimes.get(RECOMMEND).getPercentileNanos(99) / 1e6,
+                    GcSnapshot.heapUsedAfterGc() / 1048576.0, advisor.getRecommendationFlights().getInFlight());
+            lastCompleted = done;
+            lastReport = now;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        GcSnapshot gc = GcSnapshot.take().minus(gcBefore);
+        System.gc();
+        return new LoadTestSummary(mode, sessionCount, elapsedNanos, completed.get(), failed.get(), firstFailure.get(),
+                responseTimes, serviceTimes, gc, allocatedBytes.get(), heapBefore, GcSnapshot.heapUsedAfterGc());
+    }
+
+    private String execute(Session session) {
+        Random random = session.random;
+        double roll = random.nextDouble();
+        String operation = roll < 0.6 || session.lastRecommendations.isEmpty() ? RECOMMEND
+                : roll < 0.85 ? PROFILE_EDIT : LEARNING_PATH;
+        try {
+            if (operation.equals(RECOMMEND)) {
+                session.lastRecommendations = advisor.recommendCareers(session.user);
+            } else if (operation.equals(PROFILE_EDIT)) {
+                editProfile(session.user, random);
+                advisor.getProfileManager().saveUserProfile(session.user);
+            } else {
+                CareerPath career = session.lastRecommendations.get(random.nextInt(session.lastRecommendations.size()));
+                advisor.generateLearningPath(session.user, career);
+                advisor.recordInteraction(session.user, career);
+            }
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            firstFailure.compareAndSet(null, operation + ": " + e);
+        }
+        return operation;
+    }
+
+    private void editProfile(User user, Random random) {
+        List<String> skills = user.getSkills();
+        double roll = random.nextDouble();
+        if (roll < 0.5 || skills.isEmpty()) {
+            user.addSkill(sampleSkill(random), sampleLevel(random));
+        } else if (roll < 0.8 || skills.size() < 2) {
+            user.addSkill(skills.get(random.nextInt(skills.size())), sampleLevel(random));
+        } else {
+            user.removeSkill(skills.get(random.nextInt(skills.size())));
+        }
+    }
+
+    // Seeded profile: mostly a handful of popular skills, with an occasional very broad profile
+    private Session createSession(int index) {
+        Random random = new Random(seed * 31 + index);
+        User user = new User("load" + index, "Load User " + index, "load" + index + "@example.com");
+
+        int skillCount = random.nextDouble() < 0.05 ? 20 + random.nextInt(40) : 2 + random.nextInt(6);
+        for (int i = 0; i < skillCount; i++) {
+            user.addSkill(sampleSkill(random), sampleLevel(random));
+        }
+        List<String> interests = new ArrayList<>();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            interests.add(sampleSkill(random));
+        }
+        user.setInterests(interests);
+        double experience = random.nextDouble();
+        user.setExperienceLevel(User.EXPERIENCE_LEVELS.get(experience < 0.4 ? 0 : experience < 0.8 ? 1 : 2));
+        advisor.getProfileManager().saveUserProfile(user);
+
+        return new Session(user, random);
+    }
+
+    private String sampleSkill(Random random) {
+        int index = Arrays.binarySearch(skillCdf, random.nextDouble());
+        return skillPool.get(Math.min(index < 0 ? -index - 1 : index, skillPool.size() - 1));
+    }
+
+    private static int sampleLevel(Random random) {
+        return (int) Math.max(1, Math.min(5, Math.round(3 + random.nextGaussian())));
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Starts issuing requests until the deadline; the returned pool terminates once all have finished
+    private interface LoadDriver {
+        ExecutorService start(List<Session> sessions, long deadlineNanos);
+    }
+
+    private static class Session {
+        private final User user;
+        private final Random random;
+        private List<CareerPath> lastRecommendations;
+
+        Session(User user, Random random) {
+            this.user = user;
+            this.random = random;
+            this.lastRecommendations = Collections.emptyList();
+        }
+    }
+
+    // GC Snapshot class
+    static class GcSnapshot {
+        private Map<String, long[]> collectors;
+
+        GcSnapshot(Map<String, long[]> collectors) {
+            this.collectors = collectors;
+        }
+
+        static GcSnapshot take() {
+            Map<String, long[]> collectors = new LinkedHashMap<>();
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collectors.put(collector.getName(),
+                        new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+            }
+            return new GcSnapshot(collectors);
+        }
+
+        // Heap still live after the most recent collection of each pool; steady growth suggests a leak
+        static long heapUsedAfterGc() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                    used += pool.getCollectionUsage().getUsed();
+                }
+            }
+            return used;
+        }
+
+        GcSnapshot minus(GcSnapshot earlier) {
+            Map<String, long[]> delta = new LinkedHashMap<>();
+            for (Map.Entry<String, long[]> entry : collectors.entrySet()) {
+                long[] before = earlier.collectors.getOrDefault(entry.getKey(), new long[2]);
+                delta.put(entry.getKey(), new long[]{entry.getValue()[0] - before[0], entry.getValue()[1] - before[1]});
+            }
+            return new GcSnapshot(delta);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (Map.Entry<String, long[]> entry : collectors.entrySet()) {
+                if (text.length() > 0) text.append(", ");
+                text.append(String.format("%s: %d collections, %d ms", entry.getKey(),
+                        entry.getValue()[0], entry.getValue()[1]));
+            }
+            return text.toString();
+        }
+    }
+
+    // Load Test Summary class
+    static class LoadTestSummary {
+        private String mode;
+        private int sessions;
+        private long elapsedNanos;
+        private long completed;
+        private long failed;
+        private String firstFailure;
+        private Map<String, LatencyHistogram> responseTimes;
+        private Map<String, LatencyHistogram> serviceTimes;
+        private GcSnapshot gc;
+        private long allocatedBytes;
+        private long heapBefore;
+        private long heapAfter;
+
+        LoadTestSummary(String mode, int sessions, long elapsedNanos, long completed, long failed, String firstFailure,
+                        Map<String, LatencyHistogram> responseTimes, Map<String, LatencyHistogram> serviceTimes,
+                        GcSnapshot gc, long allocatedBytes, long heapBefore, long heapAfter) {
+            this.mode = mode;
+            this.sessions = sessions;
+            this.elapsedNanos = elapsedNanos;
+            this.completed = completed;
+            this.failed = failed;
+            this.firstFailure = firstFailure;
+            this.responseTimes = responseTimes;
+            this.serviceTimes = serviceTimes;
+            this.gc = gc;
+            this.allocatedBytes = allocatedBytes;
+            this.heapBefore = heapBefore;
+            this.heapAfter = heapAfter;
+        }
+
+        public long getCompleted() { return completed; }
+        public long getFailed() { return failed; }
+        public double getThroughput() { return completed / (elapsedNanos / 1e9); }
+        public LatencyHistogram getResponseTimes(String operation) { return responseTimes.get(operation); }
+        public LatencyHistogram getServiceTimes(String operation) { return serviceTimes.get(operation); }
+        public long getAllocatedBytes() { return allocatedBytes; }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("%s loop, %d sessions, %.1f s: %d requests (%.1f req/s), %d failed%n",
+                    mode, sessions, elapsedNanos / 1e9, completed, getThroughput(), failed));
+            if (firstFailure != null) {
+                text.append("  first failure: ").append(firstFailure).append('\n');
+            }
+            for (Map.Entry<String, LatencyHistogram> entry : responseTimes.entrySet()) {
+                text.append(String.format("  %-14s response %s%n", entry.getKey(), entry.getValue().summary()));
+                text.append(String.format("  %-14s service  %s%n", "", serviceTimes.get(entry.getKey()).summary()));
+            }
+            long requests = completed + failed;
+            text.append(String.format("  allocated %.1f MB (%.1f KB/request)%n", allocatedBytes / 1048576.0,
+                    requests > 0 ? allocatedBytes / 1024.0 / requests : 0));
+            text.append("  GC ").append(gc).append('\n');
+            text.append(String.format("  heap after GC %.1f MB -> %.1f MB%n", heapBefore / 1048576.0,
+                    heapAfter / 1048576.0));
+            return text.toString();
+        }
+    }
+}
+
+// Skill Postings class
+// Inverted index from catalog skill id to the rows requiring it. Each posting list is ordered
+// by required skill count ascending (ties by row), i.e. by how much one matched skill is worth.
+// Rows changed since the build are listed separately; their posting entries are stale and
+// readers must score them directly instead.
+class SkillPostings {
+    private final int rowCount;
+    private final long builtAt;           // catalog modification count the lists reflect
+    private final int maxRequiredCount;
+    private final int[] offsets;          // skill id -> start; skill id + 1 -> end
+    private final IntBuffer rows;
+    private final IntBuffer requiredCounts;  // row -> required skill count
+    private final int[] changedRows;
+
+    SkillPostings(int rowCount, long builtAt, int maxRequiredCount, int[] offsets, IntBuffer rows,
+                  IntBuffer requiredCounts, int[] changedRows) {
+        this.rowCount = rowCount;
+        this.builtAt = builtAt;
+        this.maxRequiredCount = maxRequiredCount;
+        this.offsets = offsets;
+        this.rows = rows;
+        this.requiredCounts = requiredCounts;
+        this.changedRows = changedRows;
+    }
+
+    // Same lists, with the rows changed since the build
+    public SkillPostings withChangedRows(int[] changedRows) {
+        return new SkillPostings(rowCount, builtAt, maxRequiredCount, offsets, rows, requiredCounts, changedRows);
+    }
+
+    public long getBuiltAt() { return builtAt; }
+    public int[] getChangedRows() { return changedRows; }
+    public int getRowCount() { return rowCount; }
+    public int getMaxRequiredCount() { return maxRequiredCount; }
+    public int getSkillCount() { return offsets.length - 1; }
+    public int start(int skillId) { return offsets[skillId]; }
+    public int end(int skillId) { return offsets[skillId + 1]; }
+    public int rowAt(int position) { return rows.get(position); }
+    public int requiredCount(int row) { return requiredCounts.get(row); }
+}
+
+// Recommendation Cursor class
+// Position in a recommendation stream: the score and id of the last career delivered, and the
+// id of the paused stream that can continue from there (0 if none).
+class RecommendationCursor {
+    private final double score;
+    private final String careerId;
+    private final long streamId;
+
+    public RecommendationCursor(double score, String careerId) {
+        this(score, careerId, 0);
+    }
+
+    public RecommendationCursor(double score, String careerId, long streamId) {
+        this.score = score;
+        this.careerId = careerId;
+        this.streamId = streamId;
+    }
+
+    public double getScore() { return score; }
+    public String getCareerId() { return careerId; }
+    public long getStreamId() { return streamId; }
+
+    public RecommendationCursor withStreamId(long streamId) {
+        return new RecommendationCursor(score, careerId, streamId);
+    }
+
+    // Opaque token for API clients to resume from
+    public String toToken() {
+        return Long.toHexString(Double.doubleToLongBits(score)) + ":" + Long.toHexString(streamId) + ":" + careerId;
+    }
+
+    public static RecommendationCursor fromToken(String token) {
+        int first = token.indexOf(':');
+        int second = first < 0 ? -1 : token.indexOf(':', first + 1);
+        if (second < 0) {
+            throw new IllegalArgumentException("Malformed recommendation cursor: " + token);
+        }
+        try {
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(token.substring(0, first), 16));
+            long streamId = Long.parseUnsignedLong(token.substring(first + 1, second), 16);
+            return new RecommendationCursor(score, token.substring(second + 1), streamId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed recommendation cursor: " + token, e);
+        }
+    }
+}
+
+// Recommendation Page class
+class RecommendationPage {
+    private final List<CareerPath> careers;
+    private final RecommendationCursor nextCursor;
+
+    public RecommendationPage(List<CareerPath> careers, RecommendationCursor nextCursor) {
+        this.careers = careers;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CareerPath> getCareers() { return careers; }
+    // Cursor for the following page, or null when this is the last one
+    public RecommendationCursor getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+}
+
+// Recommendation Stream class
+// Delivers recommendations best first without scoring the whole catalog up front.
+// Walks the posting lists of the user's weighted skills, always advancing the list whose
+// next row is worth the most, and scores each newly seen row exactly. A row not yet seen
+// with r required skills can only still appear in lists whose head has at most r, so its
+// score is bounded by the r largest weights among those lists over r. Embedding similarity,
+// when present, is one more list, read in two levels. The groups of EmbeddingClusters are
+// bucketed by the most similarity any of their rows can have; walking a group only computes its
+// rows' similarities and buckets the rows by them. Rows are then taken from the top row bucket
+// whenever its upper edge is at least the next group bucket's, so an unseen row's similarity is
+// at most the larger of the two edges. A scored row is delivered once it is above every such
+// bound, so no unseen row can still tie it. Results and scores match
+// CareerRecommender.recommendCareers; careers with equal scores come in career id order, so a
+// cursor's score and career id alone say where to resume.
+class RecommendationStream implements Spliterator<CareerPath> {
+    private static final double EPSILON = 1e-9;
+    private static final int SIMILARITY_BUCKETS = 1024;
+
+    private final OffHeapCareerCatalog catalog;
+    private final SkillPostings postings;
+    private final double[] weights;
+    private final RowScorer scorer;
+    private final double unseenScale;
+    private final int[] listSkills;
+    private final int[] listPositions;
+    private final double similarityScale;
+    private final CareerEmbeddingIndex.Query similarity;
+    private final EmbeddingClusters clusters;
+    private final int[] groupOrder;        // cluster groups, highest bound bucket first
+    private final int[] groupBucketEnds;   // bucket -> end in groupOrder, highest bucket first
+    private final double maxGroupBound;
+    private int nextGroupBucket;
+    private final int[][] rowBuckets;      // similarity bucket -> rows of walked groups
+    private final int[] rowBucketSizes;
+    private int topRowBucket;              // no row bucket above this one has rows
+    private float maxRowSimilarity;
+    private final float[] groupSimilarities;
+    private final BitSet seen;
+    private final PriorityQueue<ScoredRow> ready;
+    private final double afterScore;
+    private final String afterCareerId;
+    private ScoredRow lookahead;
+    private boolean exhausted;
+
+    // seededRows (those with a collaborative score) are scored up front; for every other row the
+    // score is unseenScale times its summed weight per required skill, plus similarityScale times
+    // its similarity to the embedding query if one is given; rows the query's clusters may not
+    // cover must be among seededRows. after, if given, skips everything up to and including that
+    // position.
+    RecommendationStream(OffHeapCareerCatalog catalog, SkillPostings postings, double[] weights, RowScorer scorer,
+                         Collection<Integer> seededRows, double unseenScale, CareerEmbeddingIndex.Query similarity,
+                         double similarityScale, RecommendationCursor after) {
+        this.catalog = catalog;
+        this.postings = postings;
+        this.weights = weights;
+        this.scorer = scorer;
+        this.unseenScale = unseenScale;
+        this.seen = new BitSet(postings.getRowCount());
+        this.ready = new PriorityQueue<>(this::compare);
+
+        // Heaviest skills first, so bounds can take the r largest weights by walking in order
+        List<Integer> skills = new ArrayList<>();
+        for (int skillId = 0; skillId < Math.min(weights.length, postings.getSkillCount()); skillId++) {
+            if (weights[skillId] > 0 && postings.start(skillId) < postings.end(skillId)) {
+                skills.add(skillId);
+            }
+        }
+        skills.sort((a, b) -> Double.compare(weights[b], weights[a]));
+        this.listSkills = skills.stream().mapToInt(Integer::intValue).toArray();
+        this.listPositions = new int[listSkills.length];
+        for (int i = 0; i < listSkills.length; i++) {
+            listPositions[i] = postings.start(listSkills[i]);
+        }
+
+        // Counting sort of cluster groups into buckets by similarity bound, highest first
+        this.similarityScale = similarityScale;
+        this.similarity = similarityScale > 0 ? similarity : null;
+        this.clusters = this.similarity != null ? similarity.getClusters() : null;
+        double[] bounds = clusters != null ? similarity.groupBounds() : new double[0];
+        this.groupBucketEnds = new int[SIMILARITY_BUCKETS];
+        double max = 0;
+        int[] bucketCounts = new int[SIMILARITY_BUCKETS];
+        for (double bound : bounds) {
+            bucketCounts[bucket(bound)]++;
+            max = Math.max(max, bound);
+        }
+        this.maxGroupBound = max;
+        this.groupOrder = new int[bounds.length];
+        int[] cursors = new int[SIMILARITY_BUCKETS];
+        for (int i = 0, end = 0; i < SIMILARITY_BUCKETS; i++) {
+            cursors[i] = end;
+            end += bucketCounts[SIMILARITY_BUCKETS - 1 - i];
+            groupBucketEnds[i] = end;
+        }
+        for (int group = 0; group < bounds.length; group++) {
+            groupOrder[cursors[SIMILARITY_BUCKETS - 1 - bucket(bounds[group])]++] = group;
+        }
+        skipEmptyGroupBuckets();
+        this.rowBuckets = new int[SIMILARITY_BUCKETS][];
+        this.rowBucketSizes = new int[SIMILARITY_BUCKETS];
+        this.topRowBucket = -1;
+        this.groupSimilarities = new float[EmbeddingClusters.GROUP_ROWS];
+
+        this.afterScore = after != null ? after.getScore() : Double.POSITIVE_INFINITY;
+        this.afterCareerId = after != null ? after.getCareerId() : null;
+
+        for (int row : seededRows) {
+            visit(row);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CareerPath> action) {
+        ScoredRow next = lookahead != null ? lookahead : nextRow();
+        lookahead = null;
+        if (next == null) return false;
+        action.accept(toCareer(next));
+        return true;
+    }
+
+    public RecommendationPage nextPage(int pageSize) {
+        List<CareerPath> careers = new ArrayList<>(pageSize);
+        ScoredRow last = null;
+        while (careers.size() < pageSize) {
+            ScoredRow next = lookahead != null ? lookahead : nextRow();
+            lookahead = null;
+            if (next == null) break;
+            careers.add(toCareer(next));
+            last = next;
+        }
+        if (last == null) return new RecommendationPage(careers, null);
+
+        // Peek one ahead so the last page says so
+        lookahead = nextRow();
+        RecommendationCursor cursor = lookahead != null ? new RecommendationCursor(last.score, catalog.getId(last.row)) : null;
+        return new RecommendationPage(careers, cursor);
+    }
+
+    @Override
+    public Spliterator<CareerPath> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    private ScoredRow nextRow() {
+        while (true) {
+            ScoredRow top = ready.peek();
+            if (!exhausted) {
+                double bound = unseenBound();
+                if (bound <= CareerRecommender.MIN_MATCH_SCORE) {
+                    // No unseen row can qualify any more
+                    exhausted = true;
+                } else if (top == null || top.score <= bound + EPSILON) {
+                    advance();
+                    continue;
+                }
+            }
+            if (top == null) return null;
+            ready.poll();
+            if (isAfterCursor(top)) return top;
+        }
+    }
+
+    // Highest score any unseen row could still reach
+    private double unseenBound() {
+        double bound = 0;
+        for (int count = 1; count <= postings.getMaxRequiredCount(); count++) {
+            bound = Math.max(bound, boundForCount(count));
+        }
+        return bound + similarityBound();
+    }
+
+    private double similarityBound() {
+        return Math.max(groupBound(), rowBucketBound()) * similarityScale;
+    }
+
+    // Most similarity a row of a group not yet walked can have
+    private double groupBound() {
+        if (nextGroupBucket == SIMILARITY_BUCKETS) return 0;
+        int bucket = SIMILARITY_BUCKETS - 1 - nextGroupBucket;
+        double upperEdge = (bucket + 1.0) / SIMILARITY_BUCKETS;
+        return Math.max(upperEdge, bucket == SIMILARITY_BUCKETS - 1 ? maxGroupBound : 0);
+    }
+
+    // Most similarity a row waiting in a row bucket can have
+    private double rowBucketBound() {
+        while (topRowBucket >= 0 && rowBucketSizes[topRowBucket] == 0) {
+            topRowBucket--;
+        }
+        if (topRowBucket < 0) return 0;
+        double upperEdge = (topRowBucket + 1.0) / SIMILARITY_BUCKETS;
+        return Math.max(upperEdge, topRowBucket == SIMILARITY_BUCKETS - 1 ? maxRowSimilarity : 0);
+    }
+
+    private static int bucket(double similarity) {
+        return Math.min(SIMILARITY_BUCKETS - 1, (int) (similarity * SIMILARITY_BUCKETS));
+    }
+
+    private void skipEmptyGroupBuckets() {
+        while (nextGroupBucket < SIMILARITY_BUCKETS && groupBucketEnds[nextGroupBucket]
+                == (nextGroupBucket == 0 ? 0 : groupBucketEnds[nextGroupBucket - 1])) {
+            nextGroupBucket++;
+        }
+    }
+
+    private double boundForCount(int count) {
+        double sum = 0;
+        int taken = 0;
+        for (int i = 0; i < listSkills.length && taken < count; i++) {
+            if (listPositions[i] < postings.end(listSkills[i]) && headCount(i) <= count) {
+                sum += weights[listSkills[i]];
+                taken++;
+            }
+        }
+        return sum / count * unseenScale;
+    }
+
+    private int headCount(int list) {
+        return postings.requiredCount(postings.rowAt(listPositions[list]));
+    }
+
+    private double headContribution(int list) {
+        int row = postings.rowAt(listPositions[list]);
+        return weights[listSkills[list]] / postings.requiredCount(row);
+    }
+
+    // Takes the posting head worth the most, or else the next similarity bucket: rows if they can
+    // be as similar as anything in the groups left, otherwise groups
+    private void advance() {
+        int best = -1;
+        double bestContribution = -1;
+        for (int i = 0; i < listSkills.length; i++) {
+            if (listPositions[i] < postings.end(listSkills[i])) {
+                double contribution = headContribution(i) * unseenScale;
+                if (contribution > bestContribution) {
+                    bestContribution = contribution;
+                    best = i;
+                }
+            }
+        }
+        if (best < 0 || similarityBound() > bestContribution) {
+            if (rowBucketBound() >= groupBound()) {
+                int[] rows = rowBuckets[topRowBucket];
+                int size = rowBucketSizes[topRowBucket];
+                rowBucketSizes[topRowBucket] = 0;
+                rowBuckets[topRowBucket] = null;
+                for (int i = 0; i < size; i++) {
+                    visit(rows[i]);
+                }
+            } else {
+                walkGroupBucket();
+            }
+            return;
+        }
+        visit(postings.rowAt(listPositions[best]++));
+    }
+
+    private void walkGroupBucket() {
+        int start = nextGroupBucket == 0 ? 0 : groupBucketEnds[nextGroupBucket - 1];
+        for (int i = start; i < groupBucketEnds[nextGroupBucket]; i++) {
+            int group = groupOrder[i];
+            similarity.groupSimilarities(group, groupSimilarities);
+            for (int p = clusters.groupStart(group); p < clusters.groupEnd(group); p++) {
+                int row = clusters.rowAt(p);
+                float rowSimilarity = groupSimilarities[p - clusters.groupStart(group)];
+                if (rowSimilarity > 0 && !seen.get(row)) {
+                    addToRowBucket(bucket(rowSimilarity), row);
+                    maxRowSimilarity = Math.max(maxRowSimilarity, rowSimilarity);
+                }
+            }
+        }
+        nextGroupBucket++;
+        skipEmptyGroupBuckets();
+    }
+
+    private void addToRowBucket(int bucket, int row) {
+        int[] rows = rowBuckets[bucket];
+        if (rows == null) {
+            rows = new int[16];
+        } else if (rowBucketSizes[bucket] == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        rows[rowBucketSizes[bucket]++] = row;
+        rowBuckets[bucket] = rows;
+        topRowBucket = Math.max(topRowBucket, bucket);
+    }
+
+    private void visit(int row) {
+        if (seen.get(row)) return;
+        seen.set(row);
+        catalog.scoreRow(row, weights, (r, weightSum, requiredSkillCount) -> {
+            double score = scorer.score(r, weightSum, requiredSkillCount);
+            if (score > CareerRecommender.MIN_MATCH_SCORE) {
+                ready.add(new ScoredRow(r, score));
+            }
+        });
+    }
+
+    // Careers tied with the cursor's score are compared by id, so resuming needs neither the
+    // cursor's career nor its old score to still be in the catalog
+    private boolean isAfterCursor(ScoredRow row) {
+        if (row.score != afterScore) return row.score < afterScore;
+        return careerId(row).compareTo(afterCareerId) > 0;
+    }
+
+    private CareerPath toCareer(ScoredRow row) {
+        CareerPath career = catalog.view(row.row);
+        career.setMatchScore(row.score);
+        return career;
+    }
+
+    // Best first; equal scores by career id
+    private int compare(ScoredRow a, ScoredRow b) {
+        int byScore = Double.compare(b.score, a.score);
+        return byScore != 0 ? byScore : careerId(a).compareTo(careerId(b));
+    }
+
+    private String careerId(ScoredRow row) {
+        if (row.careerId == null) {
+            row.careerId = catalog.getId(row.row);
+        }
+        return row.careerId;
+    }
+
+    interface RowScorer {
+        double score(int row, double weightSum, int requiredSkillCount);
+    }
+
+    private static class ScoredRow {
+        private final int row;
+        private final double score;
+        private String careerId;  // decoded on the first tie
+
+        ScoredRow(int row, double score) {
+            this.row = row;
+            this.score = score;
+        }
+    }
+}
+
+// Self Test class
+// Checks for the headless --selftest mode. Each check builds its own small seeded fixture and
+// compares a fast path with a plain one, so a failure names the first difference found.
+class SelfTest {
+    private final PrintStream out;
+    private final List<String> skillPool;
+    private int passed;
+    private int failed;
+
+    public SelfTest(PrintStream out) {
+        this.out = out;
+        this.skillPool = new ArrayList<>(new SkillMapper().getKnownSkills());
+        for (int i = 0; i < 60; i++) {
+            skillPool.add("Skill " + i);
+        }
+    }
+
+    // True if every check passed
+    public boolean run() {
+        check("skill completion shortest first", this::checkCompletion);
+        check("imported experience levels", this::checkExperienceLevels);
+        check("MinHash estimates and recall", this::checkMinHash);
+        check("collaborative scores skip own careers", this::checkCollaborativeScores);
+        check("BM25 search and query parsing", this::checkResourceSearch);
+        check("paged stream matches full scan", () -> checkStreams(false));
+        check("paged stream after catalog deltas", () -> checkStreams(true));
+        check("columnar report round trip", this::checkColumnarReport);
+        check("int8 similarities and cluster bounds", this::checkQuantization);
+        out.printf("%d of %d checks passed%n", passed, passed + failed);
+        return failed == 0;
+    }
+
+    private void check(String name, Check check) {
+        String failure;
+        try {
+            failure = check.run();
+        } catch (Exception e) {
+            failure = e.toString();
+        }
+        if (failure == null) {
+            passed++;
+            out.println("PASS " + name);
+        } else {
+            failed++;
+            out.println("FAIL " + name + ": " + failure);
+        }
+    }
+
+    // Completions against sorting every matching key, including a shortest key in the last branch
+    private String checkCompletion() {
+        SkillIndex index = new SkillIndex();
+        for (int i = 0; i < 40; i++) {
+            index.addSkill("Data Analysis " + i);
+        }
+        index.addSkill("Data Z");
+        List<String> completions = index.complete("data", 3);
+        if (completions.isEmpty() || !completions.get(0).equals("Data Z")) {
+            return "data completed to " + completions;
+        }
+
+        Random random = new Random(6);
+        Map<String, String> names = new HashMap<>();
+        index = new SkillIndex();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int length = 3 + random.nextInt(10); name.length() < length; ) {
+                name.append("abcd e".charAt(random.nextInt(6)));
+            }
+            String display = SkillIndex.clean(name.toString());
+            if (display.isEmpty()) continue;
+            index.addSkill(display);
+            names.putIfAbsent(SkillIndex.normalize(display), display);
+        }
+        List<String> keys = new ArrayList<>(names.keySet());
+        keys.sort(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        for (int q = 0; q < 200; q++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            String prefix = key.substring(0, 1 + random.nextInt(Math.min(3, key.length())));
+            String normalized = SkillIndex.normalize(SkillIndex.clean(prefix));
+            List<String> expected = new ArrayList<>();
+            for (String candidate : keys) {
+                if (candidate.startsWith(normalized) && expected.size() < 5) expected.add(names.get(candidate));
+            }
+            completions = index.complete(prefix, 5);
+            if (!completions.equals(expected)) return prefix + " completed to " + completions + " instead of " + expected;
+        }
+        return null;
+    }
+
+    private String checkExperienceLevels() {
+        String[][] cases = {
+                {"Expert", User.EXPERT}, {"beginner", User.BEGINNER}, {" INTERMEDIATE ", User.INTERMEDIATE},
+                {"senior", User.EXPERT}, {"Entry level", User.BEGINNER}, {"mid-level", User.INTERMEDIATE},
+                {"guru", null}, {"level", null}
+        };
+        for (String[] c : cases) {
+            String level = BulkProfileImporter.experienceLevel(c[0]);
+            if (!Objects.equals(level, c[1])) return "\"" + c[0] + "\" read as " + level + " instead of " + c[1];
+        }
+        return null;
+    }
+
+    private String checkMinHash() {
+        Random random = new Random(3);
+        MinHashIndex index = new MinHashIndex(16, 4, 0);   // banded lookups only
+        List<List<String>> sets = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            List<String> set = randomSkills(random, 4 + random.nextInt(8));
+            sets.add(set);
+            index.insert("item" + i, set);
+        }
+
+        // Estimates track exact Jaccard over all pairs found
+        double errorSum = 0;
+        int pairs = 0;
+        for (int i = 0; i < 100; i++) {
+            for (SimilarityMatch match : index.query(sets.get(i), 50, 0, "item" + i)) {
+                List<String> other = sets.get(Integer.parseInt(match.getId().substring(4)));
+                errorSum += Math.abs(match.getSimilarity() - jaccard(sets.get(i), other));
+                pairs++;
+            }
+        }
+        if (pairs == 0 || errorSum / pairs > 0.08) {
+            return String.format("mean estimate error %.3f over %d pairs", pairs == 0 ? 1 : errorSum / pairs, pairs);
+        }
+
+        // A near copy (Jaccard >= 0.8) is found through the bands
+        int found = 0;
+        for (int i = 0; i < 200; i++) {
+            List<String> copy = new ArrayList<>(sets.get(i));
+            copy.add("Extra Skill");
+            String id = "copy" + i;
+            index.insert(id, copy);
+            for (SimilarityMatch match : index.query(sets.get(i), 5, 0, "item" + i)) {
+                if (match.getId().equals(id)) {
+                    found++;
+                    break;
+                }
+            }
+            index.remove(id);
+        }
+        if (found < 195) return found + " of 200 near copies found";
+        if (index.size() != sets.size()) return "size " + index.size() + " after removing every copy";
+
+        // Skill edits to a saved profile reach the index without another save
+        UserProfileManager profiles = new UserProfileManager();
+        User edited = new User("edited", "Edited", "");
+        User target = new User("target", "Target", "");
+        edited.setSkills(randomSkills(random, 6));
+        target.setSkills(randomSkills(random, 6));
+        profiles.saveUserProfile(edited);
+        profiles.saveUserProfile(target);
+        for (String skill : new ArrayList<>(edited.getSkills())) {
+            if (!target.getSkills().contains(skill)) edited.removeSkill(skill);
+        }
+        for (String skill : target.getSkills()) {
+            edited.addSkill(skill, 3);
+        }
+        List<SimilarityMatch> similar = profiles.findSimilarProfiles(target, 5);
+        if (similar.isEmpty() || !similar.get(0).getId().equals("edited") || similar.get(0).getSimilarity() < 0.99) {
+            return "profile with the same skills after edits not found: " + similar.size() + " matches";
+        }
+        return null;
+    }
+
+    private String checkCollaborativeScores() {
+        CollaborativeRecommender collaborative = new CollaborativeRecommender();
+        collaborative.recordInteraction("a", "c1");
+        collaborative.recordInteraction("a", "c2");
+        collaborative.recordInteraction("b", "c1");
+        collaborative.recordInteraction("b", "c3");
+        collaborative.recordInteraction("c", "c2");
+        collaborative.recordInteraction("c", "c3");
+        collaborative.recordInteraction("c", "c4");
+        Map<String, Double> scores = collaborative.scoreCareers("a");
+        if (scores.containsKey("c1") || scores.containsKey("c2")) return "scored a's own careers: " + scores;
+        // c3 has cosine 1/2 with both of a's careers, c4 has 1/sqrt(2) with c2 only
+        if (Math.abs(scores.getOrDefault("c3", 0.0) - 0.5) > 1e-9
+                || Math.abs(scores.getOrDefault("c4", 0.0) - Math.sqrt(2) / 4) > 1e-9) {
+            return "expected mean cosines c3 = 0.5 and c4 = 0.354: " + scores;
+        }
+
+        // One shared interaction among many users stays a weak signal
+        for (int i = 0; i < 40; i++) {
+            collaborative.recordInteraction("p" + i, "popular");
+        }
+        collaborative.recordInteraction("q", "popular");
+        collaborative.recordInteraction("q", "rare");
+        collaborative.recordInteraction("x", "popular");
+        double rare = collaborative.scoreCareers("x").getOrDefault("rare", 0.0);
+        if (rare <= 0 || rare > 0.2) return "a single co-occurrence among 42 users scored " + rare;
+        return null;
+    }
+
+    private String checkResourceSearch() {
+        Random random = new Random(4);
+        String[] types = {"Course", "Book", "Video", "Tutorial"};
+        LearningResourceIndex index = new LearningResourceIndex();
+        List<LearningResource> resources = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            List<String> skills = randomSkills(random, 1 + random.nextInt(3));
+            LearningResource resource = new LearningResource("resource" + i, "Intro to " + skills.get(0),
+                    types[random.nextInt(types.length)], "", 1 + random.nextInt(80), skills);
+            resources.add(resource);
+            index.add(resource);
+        }
+
+        Set<String> knownTypes = index.getTypes();
+        ResourceQuery typed = ResourceQuery.parse("docker course under 10 hours", knownTypes);
+        if (!"course".equals(typed.getType()) || typed.getMaxHours() != 10 || !typed.getText().contains("docker")) {
+            return "parsed \"docker course under 10 hours\" as " + typed.getText() + " / " + typed.getType()
+                    + " / max " + typed.getMaxHours();
+        }
+        if (ResourceQuery.parse("course design", knownTypes).getType() != null) {
+            return "\"course design\" was taken as a type filter";
+        }
+        if (ResourceQuery.parse("docker course thunder 5", knownTypes).getMaxHours() != Integer.MAX_VALUE) {
+            return "\"thunder 5\" was taken as an hour limit";
+        }
+
+        String failure = compareSearch(index, resources, knownTypes);
+        if (failure != null) return failure;
+
+        // Live-document statistics after removals
+        LearningResource top = index.search("python", 1).get(0).getResource();
+        List<LearningResource> live = new ArrayList<>();
+        for (LearningResource resource : resources) {
+            if (resource == top || random.nextInt(3) == 0) {
+                index.remove(resource.getId());
+            } else {
+                live.add(resource);
+            }
+        }
+        for (ResourceSearchResult result : index.search("python", resources.size())) {
+            if (result.getResource() == top) return "removed resource " + top.getId() + " still found";
+        }
+        failure = compareSearch(index, live, knownTypes);
+        return failure != null ? "after removals, " + failure : null;
+    }
+
+    private static String compareSearch(LearningResourceIndex index, List<LearningResource> resources,
+                                        Set<String> knownTypes) {
+        for (String text : new String[]{"python", "docker video", "sql book over 20 hours", "machine learning"}) {
+            ResourceQuery query = ResourceQuery.parse(text, knownTypes);
+            List<ResourceSearchResult> results = index.search(query, 10);
+            double[] expected = bm25Scores(resources, query);
+            double[] sorted = expected.clone();
+            Arrays.sort(sorted);
+            for (int rank = 0; rank < results.size(); rank++) {
+                LearningResource resource = results.get(rank).getResource();
+                int doc = resources.indexOf(resource);
+                if (doc < 0) return "\"" + text + "\" returned removed resource " + resource.getId();
+                double best = sorted[sorted.length - 1 - rank];
+                if (Math.abs(results.get(rank).getScore() - expected[doc]) > 1e-4 * Math.max(1, expected[doc])
+                        || Math.abs(expected[doc] - best) > 1e-4 * Math.max(1, best)) {
+                    return "\"" + text + "\" rank " + rank + " scored " + results.get(rank).getScore()
+                            + ", expected " + best;
+                }
+            }
+            long matching = Arrays.stream(expected).filter(score -> score > 0).count();
+            if (results.size() != Math.min(10, matching)) {
+                return "\"" + text + "\" returned " + results.size() + " of " + matching + " matches";
+            }
+        }
+        return null;
+    }
+
+    // Plain BM25 with the index's document model: name and type once, covered skills twice; 0 for
+    // resources the query filters out or shares no term with
+    private static double[] bm25Scores(List<LearningResource> resources, ResourceQuery query) {
+        List<Map<String, Integer>> frequencies = new ArrayList<>();
+        Map<String, Integer> documentFrequencies = new HashMap<>();
+        long totalLength = 0;
+        for (LearningResource resource : resources) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            for (String token : LearningResourceIndex.tokenize(resource.getName() + " " + resource.getType())) {
+                termFrequencies.merge(token, 1, Integer::sum);
+            }
+            for (String skill : resource.getSkillsCovered()) {
+                for (String token : LearningResourceIndex.tokenize(skill)) {
+                    termFrequencies.merge(token, 2, Integer::sum);
+                }
+            }
+            for (String term : termFrequencies.keySet()) {
+                documentFrequencies.merge(term, 1, Integer::sum);
+            }
+            for (int frequency : termFrequencies.values()) {
+                totalLength += frequency;
+            }
+            frequencies.add(termFrequencies);
+        }
+
+        double averageLength = (double) totalLength / resources.size();
+        double[] scores = new double[resources.size()];
+        for (int doc = 0; doc < resources.size(); doc++) {
+            LearningResource resource = resources.get(doc);
+            if (resource.getEstimatedHours() < query.getMinHours() || resource.getEstimatedHours() > query.getMaxHours()
+                    || query.getType() != null && !resource.getType().equalsIgnoreCase(query.getType())) {
+                continue;
+            }
+            int length = 0;
+            for (int frequency : frequencies.get(doc).values()) {
+                length += frequency;
+            }
+            for (String term : new LinkedHashSet<>(LearningResourceIndex.tokenize(query.getText()))) {
+                Integer frequency = frequencies.get(doc).get(term);
+                if (frequency == null) continue;
+                int documentFrequency = documentFrequencies.get(term);
+                double idf = Math.log(1 + (resources.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                double norm = 1.2 * (1 - 0.75 + 0.75 * length / averageLength);
+                scores[doc] += idf * frequency * 2.2 / (frequency + norm);
+            }
+        }
+        return scores;
+    }
+
+    // Every page through its token, against recommendCareers, for users with and without history
+    private String checkStreams(boolean withDeltas) {
+        Random random = new Random(2);
+        List<CareerPath> careers = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            careers.add(randomCareer(random, "career" + i));
+        }
+        CareerRecommender recommender = new CareerRecommender(careers);
+        recommender.setEmbeddings(randomEmbeddings(random, 16), CareerAdvisor.EMBEDDING_WEIGHT);
+        CollaborativeRecommender collaborative = new CollaborativeRecommender();
+        recommender.setCollaborativeRecommender(collaborative, CareerAdvisor.COLLABORATIVE_WEIGHT);
+        for (int i = 0; i < 300; i++) {
+            collaborative.recordInteraction("user" + random.nextInt(60), "career" + random.nextInt(careers.size()));
+        }
+
+        if (withDeltas) {
+            // Fills the page cache first, so stale streams must be noticed
+            recommender.getRecommendationPage(randomUser(random, 0), null, 10);
+            Set<String> removed = applyDeltas(recommender, random, careers.size(), 1500, "added");
+            for (String id : removed) {
+                if (recommender.getCareer(id) != null) return "removed career " + id + " is still in the catalog";
+            }
+
+            // The cursor's own career removed between pages, along with other changes
+            User user = randomUser(random, 12);
+            RecommendationCursor cursor = recommender.getRecommendationPage(user, null, 25).getNextCursor();
+            recommender.removeCareer(cursor.getCareerId());
+            applyDeltas(recommender, random, careers.size(), 200, "late");
+            List<CareerPath> remaining = new ArrayList<>();
+            for (CareerPath career : recommender.recommendCareers(user)) {
+                double gap = cursor.getScore() - career.getMatchScore();
+                if (gap > 1e-9 || Math.abs(gap) <= 1e-9 && career.getId().compareTo(cursor.getCareerId()) > 0) {
+                    remaining.add(career);
+                }
+            }
+            List<CareerPath> resumed = new ArrayList<>();
+            RecommendationPage page;
+            do {
+                page = recommender.getRecommendationPage(user, cursor, 25);
+                resumed.addAll(page.getCareers());
+                cursor = page.getNextCursor();
+            } while (page.hasMore());
+            if (!AICareerAdvisorGUI.sameRanking(resumed, remaining, remaining.size())) {
+                return "resuming after a removed career gave " + resumed.size() + " careers instead of "
+                        + remaining.size();
+            }
+        }
+
+        for (int u = 0; u < 12; u++) {
+            User user = randomUser(random, u);
+            List<CareerPath> expected = recommender.recommendCareers(user);
+            List<CareerPath> paged = new ArrayList<>();
+            RecommendationPage page = recommender.getRecommendationPage(user, null, 25);
+            paged.addAll(page.getCareers());
+            while (page.hasMore()) {
+                RecommendationCursor cursor = RecommendationCursor.fromToken(page.getNextCursor().toToken());
+                // A cursor without its paused stream seeks from the score and career id alone
+                List<CareerPath> resumed = recommender.getRecommendationPage(user,
+                        new RecommendationCursor(cursor.getScore(), cursor.getCareerId()), 25).getCareers();
+                page = recommender.getRecommendationPage(user, cursor, 25);
+                if (!ids(resumed).equals(ids(page.getCareers()))) {
+                    return user.getId() + ": resuming after " + cursor.getCareerId() + " without its stream gave "
+                            + ids(resumed) + " instead of " + ids(page.getCareers());
+                }
+                paged.addAll(page.getCareers());
+            }
+            if (!AICareerAdvisorGUI.sameRanking(paged, expected, expected.size())) {
+                return user.getId() + ": " + paged.size() + " paged careers vs " + expected.size() + " from the full scan";
+            }
+            for (int i = 1; i < paged.size(); i++) {
+                CareerPath previous = paged.get(i - 1);
+                CareerPath career = paged.get(i);
+                if (career.getMatchScore() == previous.getMatchScore() && career.getId().compareTo(previous.getId()) <= 0) {
+                    return user.getId() + ": tied careers " + previous.getId() + " and " + career.getId() + " out of id order";
+                }
+            }
+        }
+        return null;
+    }
+
+    // Random puts, replacements and removals; returns the ids removed and not put back
+    private Set<String> applyDeltas(CareerRecommender recommender, Random random, int careerCount, int count,
+            String addedPrefix) {
+        Set<String> removed = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            String id = "career" + random.nextInt(careerCount);
+            switch (random.nextInt(3)) {
+                case 0:
+                    recommender.putCareer(randomCareer(random, id));
+                    removed.remove(id);
+                    break;
+                case 1:
+                    recommender.putCareer(randomCareer(random, addedPrefix + i));
+                    break;
+                default:
+                    if (recommender.removeCareer(id)) removed.add(id);
+            }
+        }
+        return removed;
+    }
+
+    private String checkColumnarReport() throws IOException {
+        Random random = new Random(1);
+        List<UserRecommendationReport> reports = new ArrayList<>();
+        for (int u = 0; u < 40; u++) {
+            List<CareerPath> careers = new ArrayList<>();
+            List<LearningPath> paths = new ArrayList<>();
+            // Some users get no rows, some more than a row group
+            int count = random.nextInt(10);
+            for (int i = 0; i < count; i++) {
+                CareerPath career = new CareerPath("career" + random.nextInt(12), "Career", "",
+                        new ArrayList<>(), "High", new ArrayList<>());
+                career.setMatchScore(20 + random.nextDouble() * 80);
+                List<String> gaps = randomSkills(random, random.nextInt(4));
+                if (random.nextBoolean()) {
+                    // Ids far apart in a large skill dictionary
+                    gaps.add("Gap skill " + random.nextInt(5000));
+                }
+                List<LearningResource> resources = Collections.singletonList(new LearningResource(
+                        "resource" + i, "Resource", "Course", "", random.nextInt(60), gaps));
+                careers.add(career);
+                paths.add(new LearningPath("path" + i, career, resources, gaps, random.nextInt(40)));
+            }
+            reports.add(new UserRecommendationReport(new User("user" + u, "User", ""), careers, paths));
+        }
+
+        Path file = Files.createTempFile("selftest", ".crx");
+        try {
+            long rows;
+            try (ColumnarReportWriter writer = new ColumnarReportWriter(file, 8)) {
+                for (UserRecommendationReport report : reports) {
+                    writer.write(report);
+                }
+                rows = writer.getRowCount();
+            }
+            // Fixed columns, a few bytes of gap ids and offsets, and dictionary entries per row
+            if (Files.size(file) > rows * 96 + 1024) {
+                return Files.size(file) + " bytes for " + rows + " rows";
+            }
+            try (ColumnarReportReader reader = new ColumnarReportReader(file)) {
+                long row = 0;
+                for (UserRecommendationReport report : reports) {
+                    for (int i = 0; i < report.getRecommendations().size(); i++, row++) {
+                        if (row >= reader.getRowCount()) return "only " + reader.getRowCount() + " rows read back";
+                        CareerPath career = report.getRecommendations().get(i);
+                        LearningPath path = report.getLearningPaths().get(i);
+                        if (!reader.getUserId(row).equals(report.getUser().getId())
+                                || !reader.getCareerId(row).equals(career.getId())
+                                || reader.getRank(row) != i + 1
+                                || reader.getScore(row) != (float) career.getMatchScore()
+                                || reader.getPlannedHours(row) != path.getTotalHours()
+                                || reader.getEstimatedWeeks(row) != path.getEstimatedDuration()
+                                || !new HashSet<>(reader.getGapSkills(row)).equals(new HashSet<>(path.getSkillsToDevelop()))) {
+                            return "row " + row + " differs from what was written";
+                        }
+                    }
+                }
+                if (row != reader.getRowCount()) return row + " rows written, " + reader.getRowCount() + " read";
+
+                Map<String, Long> expectedGaps = new HashMap<>();
+                for (UserRecommendationReport report : reports) {
+                    for (LearningPath path : report.getLearningPaths()) {
+                        for (String skill : path.getSkillsToDevelop()) {
+                            expectedGaps.merge(skill, 1L, Long::sum);
+                        }
+                    }
+                }
+                long[] gapCounts = reader.countGaps();
+                for (int i = 0; i < gapCounts.length; i++) {
+                    String skill = reader.getSkillDictionary().get(i);
+                    if (gapCounts[i] != expectedGaps.getOrDefault(skill, 0L)) {
+                        return "countGaps gave " + gapCounts[i] + " rows for " + skill;
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return null;
+    }
+
+    private static List<String> ids(List<CareerPath> careers) {
+        List<String> ids = new ArrayList<>();
+        for (CareerPath career : careers) {
+            ids.add(career.getId());
+        }
+        return ids;
+    }
+
+    private String checkQuantization() {
+        Random random = new Random(5);
+        SkillEmbeddings embeddings = randomEmbeddings(random, 32);
+        CareerEmbeddingIndex index = new CareerEmbeddingIndex(embeddings, 16);
+        List<List<String>> rows = new ArrayList<>();
+        for (int row = 0; row < 5000; row++) {
+            List<String> skills = randomSkills(random, 1 + random.nextInt(6));
+            rows.add(skills);
+            index.set(row, skills);
+        }
+        float[] query = embeddings.meanVector(randomSkills(random, 3));
+        float[] similarities = index.similarities(query);
+        CareerEmbeddingIndex.Query rowQuery = index.query(query);
+
+        double maxError = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            float[] vector = embeddings.meanVector(rows.get(row));
+            double cosine = 0;
+            for (int i = 0; i < vector.length; i++) {
+                cosine += vector[i] * query[i];
+            }
+            maxError = Math.max(maxError, Math.abs(cosine - similarities[row]));
+            if (rowQuery.similarity(row) != similarities[row]) return "row " + row + " scored differently one by one";
+        }
+        if (maxError > 0.02) return String.format("int8 cosine error up to %.4f", maxError);
+
+        EmbeddingClusters clusters = rowQuery.getClusters();
+        double[] bounds = rowQuery.groupBounds();
+        int covered = 0;
+        for (int group = 0; group < clusters.getGroupCount(); group++) {
+            for (int p = clusters.groupStart(group); p < clusters.groupEnd(group); p++, covered++) {
+                if (similarities[clusters.rowAt(p)] > bounds[group]) {
+                    return "row " + clusters.rowAt(p) + " is above its group's bound";
+                }
+            }
+        }
+        if (covered != rows.size()) return covered + " of " + rows.size() + " rows in clusters";
+        return null;
+    }
+
+    private List<String> randomSkills(Random random, int count) {
+        Set<String> skills = new LinkedHashSet<>();
+        while (skills.size() < count) {
+            skills.add(skillPool.get(random.nextInt(skillPool.size())));
+        }
+        return new ArrayList<>(skills);
+    }
+
+    private CareerPath randomCareer(Random random, String id) {
+        return new CareerPath(id, "Career " + id, "", randomSkills(random, 2 + random.nextInt(6)), "High",
+                new ArrayList<>());
+    }
+
+    private User randomUser(Random random, int index) {
+        User user = new User("user" + index, "User", "");
+        for (String skill : randomSkills(random, 2 + random.nextInt(5))) {
+            user.addSkill(skill, 1 + random.nextInt(5));
+        }
+        user.setExperienceLevel(User.EXPERIENCE_LEVELS.get(index % User.EXPERIENCE_LEVELS.size()));
+        return user;
+    }
+
+    // Skills in a handful of topics, so similarities spread out as real ones do
+    private SkillEmbeddings randomEmbeddings(Random random, int dimensions) {
+        float[][] topics = new float[6][dimensions];
+        for (float[] topic : topics) {
+            for (int i = 0; i < dimensions; i++) {
+                topic[i] = (float) random.nextGaussian();
+            }
+        }
+        SkillEmbeddings embeddings = new SkillEmbeddings(dimensions);
+        for (String skill : skillPool) {
+            float[] topic = topics[random.nextInt(topics.length)];
+            float[] vector = new float[dimensions];
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] = topic[i] + 0.5f * (float) random.nextGaussian();
+            }
+            embeddings.put(skill, vector);
+        }
+        return embeddings;
+    }
+
+    private static double jaccard(Collection<String> a, Collection<String> b) {
+        Set<String> union = new HashSet<>();
+        for (String skill : a) {
+            union.add(SkillIndex.normalize(SkillIndex.clean(skill)));
+        }
+        Set<String> intersection = new HashSet<>();
+        for (String skill : b) {
+            String key = SkillIndex.normalize(SkillIndex.clean(skill));
+            if (union.contains(key)) intersection.add(key);
+            union.add(key);
+        }
+        return union.isEmpty() ? 0 : (double) intersection.size() / union.size();
+    }
+
+    // Null on success, otherwise what went wrong
+    private interface Check {
+        String run() throws Exception;
+    }
 }
\ No newline at end of file